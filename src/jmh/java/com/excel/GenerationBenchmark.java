@@ -0,0 +1,150 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation pipeline stages over a seeded TestFileCreator fixture (August 2025 onwards).
+ * The layout and output benchmarks only read August, so they use a one-month fixture; logFiles applies to the
+ * Jira extraction, which reads every log in the directory.
+ * Run with "-prof gc" (the profile default) to get allocation rates next to throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int MONTH = 8;
+    private static final int YEAR = 2025;
+    private static final int AUGUST_DAYS = 31;
+
+    @Param({"3", "20"})
+    public int tasksPerDay;
+
+    @Param({"40", "400"})
+    public int lineLength;
+
+    private File dir;
+    private Properties props;
+    private Map<String, List<String>> dateTasks;
+
+    @Setup(Level.Trial)
+    public void createFixture() throws IOException {
+        dir = Files.createTempDirectory("worksheet-bench").toFile();
+        TestFileCreator.generate(dir, SEED, AUGUST_DAYS, tasksPerDay, lineLength);
+
+        props = new Properties();
+        props.setProperty("name", "Bench Employee");
+        props.setProperty("month", String.valueOf(MONTH));
+        props.setProperty("year", String.valueOf(YEAR));
+
+        TaskCollector tasks = new TaskCollector();
+        new LogIngestor(new JiraMatcher(), null).ingest(dir, tasks);
+        dateTasks = tasks.getDateTasks();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFixture() throws IOException {
+        deleteTree(dir);
+    }
+
+    private static void deleteTree(File dir) throws IOException {
+        try (Stream<java.nio.file.Path> paths = Files.walk(dir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+        }
+    }
+
+    // === Layout ===
+    @Benchmark
+    public Sheet layoutFillDatesAndTasks() throws IOException {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            CellStyle[] styles = ExcelStyleUtil.createStyleTable(wb);
+            Sheet sheet = wb.createSheet("bench");
+            ExcelLayoutUtil.fillDatesAndTasks(sheet, MONTH, YEAR, dateTasks, styles);
+            return sheet;
+        }
+    }
+
+    // Includes style creation, layout and the ColumnWidthEstimator column widths
+    @Benchmark
+    public Workbook createWorkbook() throws IOException {
+        try (Workbook wb = MonthExcelGenerator.createWorkbook(MONTH, YEAR, WorkCalendar.STANDARD, props, dateTasks)) {
+            return wb;
+        }
+    }
+
+    // === Output ===
+    @State(Scope.Thread)
+    public static class BuiltWorkbook {
+        Workbook workbook;
+
+        @Setup(Level.Invocation)
+        public void build(GenerationBenchmark fixture) {
+            workbook = MonthExcelGenerator.createWorkbook(MONTH, YEAR, WorkCalendar.STANDARD, fixture.props, fixture.dateTasks);
+        }
+    }
+
+    @Benchmark
+    public File saveWorkbook(BuiltWorkbook built) throws IOException {
+        File output = new File(dir, "bench-output.xlsx");
+        MonthExcelGenerator.saveWorkbook(built.workbook, output);
+        return output;
+    }
+
+    // === Jira extraction (read + scan every log, no cache) ===
+    @State(Scope.Benchmark)
+    public static class LogDirectory {
+        @Param({"31", "365"})
+        public int logFiles;
+
+        File dir;
+
+        @Setup(Level.Trial)
+        public void createLogs(GenerationBenchmark fixture) throws IOException {
+            dir = Files.createTempDirectory("worksheet-bench-logs").toFile();
+            TestFileCreator.generate(dir, SEED, logFiles, fixture.tasksPerDay, fixture.lineLength);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteLogs() throws IOException {
+            deleteTree(dir);
+        }
+    }
+
+    @Benchmark
+    public Set<String> jiraExtraction(LogDirectory logs) throws IOException {
+        JiraCollector jiras = new JiraCollector();
+        new LogIngestor(new JiraMatcher(), null).ingest(logs.dir, jiras);
+        return jiras.getTickets();
+    }
+}
@@ -0,0 +1,129 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates worksheets for a whole team in one JVM.
+ * The root directory holds one subdirectory per employee, each with its own input.txt and daily logs.
+ * Employees run concurrently on a bounded pool; a failure is recorded and never stops the others.
+ * Phase timings of all employees are summarised into batch-metrics.json / .prom in the root.
+ */
+public class BatchGenerator {
+
+    // === Per-Employee Outcome ===
+    static class Result {
+        final String employee;
+        final boolean success;
+        final String detail;
+        final long millis;
+        // Phase times and counters of a successful run, null otherwise
+        final RunMetrics metrics;
+
+        Result(String employee, boolean success, String detail, long millis) {
+            this(employee, success, detail, millis, null);
+        }
+
+        Result(String employee, boolean success, String detail, long millis, RunMetrics metrics) {
+            this.employee = employee;
+            this.success = success;
+            this.detail = detail;
+            this.millis = millis;
+            this.metrics = metrics;
+        }
+    }
+
+    /**
+     * Runs every employee directory under root and prints a summary.
+     * @return number of failed employees
+     */
+    public static int run(File root, int threads) throws InterruptedException {
+        File[] employeeDirs = root.listFiles(File::isDirectory);
+        if (employeeDirs == null || employeeDirs.length == 0) {
+            System.err.println("No employee directories found under " + root.getAbsolutePath());
+            return 0;
+        }
+        Arrays.sort(employeeDirs);
+
+        int poolSize = Math.max(1, Math.min(threads, employeeDirs.length));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<Result> results = new ArrayList<>();
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (File dir : employeeDirs) {
+                futures.add(executor.submit(generateTask(dir)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // generateTask catches everything it can; this only covers Errors escaping the task
+                    results.add(new Result(employeeDirs[i].getName(), false, String.valueOf(e.getCause()), 0));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        printSummary(results, poolSize);
+        writeMetrics(root, results);
+        int failures = 0;
+        for (Result r : results) if (!r.success) failures++;
+        return failures;
+    }
+
+    // === Single Employee Job ===
+    private static Callable<Result> generateTask(File dir) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                if (!new File(dir, "input.txt").isFile()) {
+                    return new Result(dir.getName(), false, "missing input.txt", 0);
+                }
+                RunMetrics metrics = new RunMetrics(dir.getName());
+                File output = MonthExcelGenerator.generate(dir, metrics);
+                return new Result(dir.getName(), true, output.getName(), elapsedMillis(start), metrics);
+            } catch (Exception e) {
+                return new Result(dir.getName(), false, e.getClass().getSimpleName() + ": " + e.getMessage(), elapsedMillis(start));
+            }
+        };
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // === Summary ===
+    private static void printSummary(List<Result> results, int poolSize) {
+        int ok = 0;
+        System.out.println();
+        System.out.println("=== Batch Summary (" + results.size() + " employees, " + poolSize + " threads) ===");
+        for (Result r : results) {
+            if (r.success) ok++;
+            System.out.println((r.success ? "[OK]   " : "[FAIL] ") + r.employee + " - " + r.detail + " (" + r.millis + " ms)");
+        }
+        System.out.println("Succeeded: " + ok + ", Failed: " + (results.size() - ok));
+    }
+
+    // Percentiles of every phase and counter across the successful employees
+    private static void writeMetrics(File root, List<Result> results) {
+        List<RunMetrics> runs = new ArrayList<>();
+        for (Result r : results) if (r.metrics != null) runs.add(r.metrics);
+        if (runs.isEmpty()) return;
+        try {
+            BatchMetrics.write(root, runs);
+            System.out.println("Metrics: " + new File(root, BatchMetrics.JSON_FILE).getPath() + ", "
+                    + new File(root, BatchMetrics.PROMETHEUS_FILE).getPath());
+        } catch (IOException e) {
+            System.err.println("Failed to write batch metrics: " + e.getMessage());
+        }
+    }
+}
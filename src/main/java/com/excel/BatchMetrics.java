@@ -0,0 +1,119 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribution of every phase time and counter across the employees of a batch run:
+ * p50 / p90 / p99 / max plus sum and count, written to batch-metrics.json and batch-metrics.prom
+ * (Prometheus summaries) in the batch root. The per-employee values are included in the JSON.
+ */
+public class BatchMetrics {
+
+    static final String JSON_FILE = "batch-metrics.json";
+    static final String PROMETHEUS_FILE = "batch-metrics.prom";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private BatchMetrics() {
+    }
+
+    public static void write(File root, List<RunMetrics> runs) throws IOException {
+        Map<String, long[]> phases = collect(runs, true);
+        Map<String, long[]> counters = collect(runs, false);
+
+        // === JSON ===
+        StringBuilder json = new StringBuilder("{\"employees\":").append(runs.size()).append(",\"phases_ms\":{");
+        appendJson(json, phases, true);
+        json.append("},\"counters\":{");
+        appendJson(json, counters, false);
+        json.append("},\"runs\":[");
+        for (int i = 0; i < runs.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(runs.get(i).toJson());
+        }
+        json.append("]}");
+        RunMetrics.writeFile(new File(root, JSON_FILE), json.toString());
+
+        // === Prometheus ===
+        StringBuilder prom = new StringBuilder();
+        prom.append("# HELP worksheet_phase_seconds Wall time per phase across employees\n");
+        prom.append("# TYPE worksheet_phase_seconds summary\n");
+        for (Map.Entry<String, long[]> phase : phases.entrySet()) {
+            appendSummary(prom, "worksheet_phase_seconds", "phase=\"" + phase.getKey() + "\",", phase.getValue(), true);
+        }
+        for (Map.Entry<String, long[]> counter : counters.entrySet()) {
+            String metric = "worksheet_" + counter.getKey();
+            prom.append("# TYPE ").append(metric).append(" summary\n");
+            appendSummary(prom, metric, "", counter.getValue(), false);
+        }
+        RunMetrics.writeFile(new File(root, PROMETHEUS_FILE), prom.toString());
+    }
+
+    // Sorted values per name, over the runs that recorded it
+    private static Map<String, long[]> collect(List<RunMetrics> runs, boolean phases) {
+        Map<String, List<Long>> values = new LinkedHashMap<>();
+        for (RunMetrics run : runs) {
+            Map<String, Long> source = phases ? run.getPhaseNanos() : run.getCounters();
+            for (Map.Entry<String, Long> entry : source.entrySet()) {
+                values.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        Map<String, long[]> sorted = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Long>> entry : values.entrySet()) {
+            long[] array = new long[entry.getValue().size()];
+            for (int i = 0; i < array.length; i++) array[i] = entry.getValue().get(i);
+            Arrays.sort(array);
+            sorted.put(entry.getKey(), array);
+        }
+        return sorted;
+    }
+
+    // Nearest-rank percentile of sorted values
+    static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) sum += value;
+        return sum;
+    }
+
+    private static void appendJson(StringBuilder json, Map<String, long[]> stats, boolean nanos) {
+        boolean first = true;
+        for (Map.Entry<String, long[]> entry : stats.entrySet()) {
+            long[] values = entry.getValue();
+            if (!first) json.append(',');
+            json.append(RunMetrics.jsonString(entry.getKey())).append(":{\"count\":").append(values.length);
+            json.append(",\"sum\":").append(format(sum(values), nanos));
+            for (double q : QUANTILES) {
+                json.append(",\"p").append(Math.round(q * 100)).append("\":").append(format(percentile(values, q), nanos));
+            }
+            json.append(",\"max\":").append(format(values[values.length - 1], nanos)).append('}');
+            first = false;
+        }
+    }
+
+    private static void appendSummary(StringBuilder prom, String metric, String labels, long[] values, boolean nanos) {
+        for (double q : QUANTILES) {
+            prom.append(metric).append('{').append(labels).append("quantile=\"").append(q).append("\"} ")
+                    .append(nanos ? RunMetrics.seconds(percentile(values, q)) : String.valueOf(percentile(values, q)))
+                    .append('\n');
+        }
+        String plainLabels = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        prom.append(metric).append("_sum").append(plainLabels).append(' ')
+                .append(nanos ? RunMetrics.seconds(sum(values)) : String.valueOf(sum(values))).append('\n');
+        prom.append(metric).append("_count").append(plainLabels).append(' ').append(values.length).append('\n');
+    }
+
+    private static String format(long value, boolean nanos) {
+        return nanos ? RunMetrics.millis(value) : String.valueOf(value);
+    }
+}
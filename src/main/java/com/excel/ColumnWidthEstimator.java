@@ -0,0 +1,127 @@
+package com.excel;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Replacement for Sheet.autoSizeColumn that needs no AWT font metrics.
+ *
+ * Layout code records every cell it writes into an auto-sized column; the estimator keeps only the widest
+ * rendered line per column (text measured with built-in advance-width tables for the fonts we use), and
+ * {@link #apply} sets all widths once at the end. Cost is one table lookup per character written and does not
+ * depend on how many rows the sheet has when widths are applied.
+ *
+ * Like autoSizeColumn(col), cells inside merged regions must not be recorded.
+ */
+public class ColumnWidthEstimator {
+
+    // Excel's column width unit is the width of '0' in the default font (Calibri 11 renders it 7 px wide)
+    private static final double DEFAULT_CHAR_WIDTH_PX = 7.0;
+    private static final double PX_PER_POINT = 96.0 / 72.0;
+    private static final int MAX_WIDTH = 255 * 256;
+
+    // === Advance widths for ASCII 32..126, in font units (units per em below) ===
+    private static final int CALIBRI_UNITS_PER_EM = 2048;
+    private static final short[] CALIBRI = {
+            463, 544, 821, 1038, 1038, 1463, 1397, 452, 621, 621, 1038, 1038, 511, 627, 511, 792,   // ' '..'/'
+            1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038,                           // '0'..'9'
+            548, 548, 1038, 1038, 1038, 948, 1837,                                                // ':'..'@'
+            1185, 1114, 1092, 1260, 1000, 941, 1292, 1276, 516, 653, 1064, 861, 1751,             // 'A'..'M'
+            1322, 1356, 1058, 1378, 1112, 941, 998, 1314, 1162, 1822, 1063, 998, 959,             // 'N'..'Z'
+            627, 792, 627, 1038, 1020, 587,                                                       // '['..'`'
+            981, 1076, 866, 1076, 1019, 625, 964, 1076, 470, 490, 931, 470, 1636,                 // 'a'..'m'
+            1076, 1080, 1076, 1076, 714, 801, 686, 1076, 925, 1464, 887, 927, 809,                // 'n'..'z'
+            636, 943, 636, 1038                                                                   // '{'..'~'
+    };
+    private static final short[] CALIBRI_BOLD = {
+            463, 579, 896, 1038, 1038, 1493, 1447, 452, 621, 621, 1038, 1038, 524, 627, 528, 821,
+            1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038,
+            564, 564, 1038, 1038, 1038, 946, 1831,
+            1241, 1145, 1073, 1290, 999, 944, 1305, 1292, 546, 689, 1114, 862, 1788,
+            1346, 1384, 1088, 1409, 1151, 940, 1016, 1339, 1228, 1860, 1127, 1055, 977,
+            665, 821, 665, 1038, 1020, 584,
+            1011, 1099, 857, 1099, 1032, 648, 966, 1099, 503, 518, 980, 503, 1677,
+            1099, 1100, 1099, 1099, 728, 817, 711, 1099, 968, 1500, 937, 968, 815,
+            670, 976, 670, 1038
+    };
+
+    private static final int BOOK_ANTIQUA_UNITS_PER_EM = 1000;
+    private static final short[] BOOK_ANTIQUA = {
+            250, 278, 371, 500, 500, 840, 778, 208, 333, 333, 389, 606, 250, 333, 250, 606,
+            500, 500, 500, 500, 500, 500, 500, 500, 500, 500,
+            250, 250, 606, 606, 606, 444, 747,
+            778, 611, 709, 774, 611, 556, 763, 832, 337, 333, 726, 611, 946,
+            831, 786, 604, 786, 668, 525, 613, 778, 722, 1000, 667, 667, 667,
+            333, 606, 333, 606, 500, 333,
+            500, 553, 444, 611, 479, 333, 556, 582, 291, 234, 556, 291, 883,
+            582, 546, 601, 560, 395, 424, 326, 603, 565, 834, 516, 556, 500,
+            333, 606, 333, 606
+    };
+    private static final short[] BOOK_ANTIQUA_BOLD = {
+            250, 278, 402, 500, 500, 889, 833, 227, 333, 333, 444, 606, 250, 333, 250, 296,
+            500, 500, 500, 500, 500, 500, 500, 500, 500, 500,
+            250, 250, 606, 606, 606, 444, 747,
+            778, 667, 722, 833, 611, 556, 833, 833, 389, 389, 778, 611, 1000,
+            833, 833, 611, 833, 722, 611, 667, 778, 778, 1000, 667, 667, 667,
+            333, 606, 333, 606, 500, 333,
+            500, 611, 444, 611, 500, 389, 556, 611, 333, 333, 611, 333, 889,
+            611, 556, 611, 611, 389, 444, 333, 611, 556, 833, 500, 556, 500,
+            310, 606, 310, 606
+    };
+
+    private final double[] maxWidthPx;
+
+    /** @param columns number of columns tracked, starting at column 0 */
+    public ColumnWidthEstimator(int columns) {
+        maxWidthPx = new double[columns];
+    }
+
+    /** Starts from the widths already recorded in base (which is left unchanged). */
+    public ColumnWidthEstimator(ColumnWidthEstimator base) {
+        maxWidthPx = base.maxWidthPx.clone();
+    }
+
+    // === Recording ===
+    /** Records a cell written with the given style; a null style means the workbook default font. */
+    public void record(int col, String text, StyleSpec style) {
+        if (col >= maxWidthPx.length || text == null || text.isEmpty()) return;
+        String fontName = style == null ? "Calibri" : style.fontName;
+        boolean bold = style != null && style.bold;
+        int fontPt = style == null ? 11 : style.fontPt;
+
+        // Multi-line text is as wide as its widest line
+        int lineStart = 0;
+        while (lineStart <= text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) lineEnd = text.length();
+            double width = lineWidthPx(text, lineStart, lineEnd, fontName, bold, fontPt);
+            if (width > maxWidthPx[col]) maxWidthPx[col] = width;
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    // === Applying ===
+    /** Sets the width of every recorded column; columns with nothing recorded keep the sheet default. */
+    public void apply(Sheet sheet) {
+        for (int col = 0; col < maxWidthPx.length; col++) {
+            if (maxWidthPx[col] <= 0) continue;
+            // autoSizeColumn pads each line by one '0' of the cell font; the default '0' is what the unit is based on
+            int width = (int) (((maxWidthPx[col] + DEFAULT_CHAR_WIDTH_PX) / DEFAULT_CHAR_WIDTH_PX) * 256);
+            sheet.setColumnWidth(col, Math.min(width, MAX_WIDTH));
+        }
+    }
+
+    private static double lineWidthPx(String text, int start, int end, String fontName, boolean bold, int fontPt) {
+        boolean antiqua = fontName.startsWith("Book Antiqua");
+        short[] widths = antiqua ? (bold ? BOOK_ANTIQUA_BOLD : BOOK_ANTIQUA) : (bold ? CALIBRI_BOLD : CALIBRI);
+        int unitsPerEm = antiqua ? BOOK_ANTIQUA_UNITS_PER_EM : CALIBRI_UNITS_PER_EM;
+        // Characters outside the table (accents, CJK, ...) are measured as a wide Latin capital
+        int fallback = widths['W' - 32];
+
+        long units = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            units += (c >= 32 && c <= 126) ? widths[c - 32] : (c == '\t' ? widths[0] * 4 : fallback);
+        }
+        return units * fontPt * PX_PER_POINT / unitsPerEm;
+    }
+}
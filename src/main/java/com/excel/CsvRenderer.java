@@ -0,0 +1,86 @@
+package com.excel;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with one record per day of every month, written straight from the month models (no POI):
+ * date,date_key,weekday,status,tasks,jiras
+ * status is work, off or holiday; tasks are the logged lines joined by newlines (inside quotes) and are kept
+ * on off days too; jiras are the day's tickets separated by ';'.
+ */
+public class CsvRenderer implements Renderer {
+
+    private static final String[] HEADER = {"date", "date_key", "weekday", "status", "tasks", "jiras"};
+
+    @Override
+    public String name() {
+        return "csv";
+    }
+
+    @Override
+    public File render(ReportData data, File dir) throws IOException {
+        File output = new File(dir, data.baseName + ".csv");
+        File tmp = new File(output.getPath() + ".tmp");
+        boolean moved = false;
+        try {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(tmp.toPath()),
+                    StandardCharsets.UTF_8), 64 * 1024)) {
+                for (int col = 0; col < HEADER.length; col++) {
+                    if (col > 0) out.write(',');
+                    out.write(HEADER[col]);
+                }
+                out.write("\r\n");
+
+                for (MonthModel month : data.months) {
+                    for (MonthModel.Day day : month.days) {
+                        out.write(day.date.toString());
+                        out.write(',');
+                        out.write(day.dateKey);
+                        out.write(',');
+                        out.write(day.date.getDayOfWeek().name().substring(0, 3));
+                        out.write(',');
+                        out.write(day.status());
+                        out.write(',');
+                        writeField(out, day.tasks, '\n');
+                        out.write(',');
+                        writeField(out, data.ticketsOn(day), ';');
+                        out.write("\r\n");
+                    }
+                }
+            }
+            WorkbookWriter.moveIntoPlace(tmp, output);
+            moved = true;
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+        return output;
+    }
+
+    // Joins values with separator; quoted only when needed (comma, quote or line break inside)
+    private static void writeField(Writer out, List<String> values, char separator) throws IOException {
+        boolean quote = separator == '\n' && values.size() > 1;
+        for (int i = 0; i < values.size() && !quote; i++) {
+            String value = values.get(i);
+            quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0;
+        }
+        if (quote) out.write('"');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) out.write(separator);
+            String value = values.get(i);
+            if (quote && value.indexOf('"') >= 0) {
+                out.write(value.replace("\"", "\"\""));
+            } else {
+                out.write(value);
+            }
+        }
+        if (quote) out.write('"');
+    }
+}
@@ -1,6 +1,5 @@
 package com.excel;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -18,17 +17,18 @@ import org.apache.poi.ss.util.CellRangeAddress;
 /**
  * Builds the sheet layout ONLY.
  * Parsing and fill logic are preserved (date loop, txt mapping, weekend rules).
+ * Styles come from {@link ExcelStyleUtil#createStyleTable}, indexed by {@link StyleKey}.
  */
 public class ExcelLayoutUtil {
 
     // === Title Rows ===
-    public static void addTitleRows(Sheet sheet, int monthNum, int year, Map<String, CellStyle> styles) {
+    public static void addTitleRows(Sheet sheet, int monthNum, int year, CellStyle[] styles) {
         // Title
         Row titleRow = sheet.createRow(0);
         titleRow.setHeightInPoints(26);
         Cell titleCell = titleRow.createCell(0);
         titleCell.setCellValue("Performance Sheet - " + java.time.Month.of(monthNum).name() + " " + year);
-        titleCell.setCellStyle(styles.get("title"));
+        titleCell.setCellStyle(styles[StyleKey.TITLE.ordinal()]);
         sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 9));
 
         // Subtitle
@@ -36,12 +36,12 @@ public class ExcelLayoutUtil {
         subtitleRow.setHeightInPoints(20);
         Cell subTitleCell = subtitleRow.createCell(0);
         subTitleCell.setCellValue("Monthly Worksheet - " + java.time.Month.of(monthNum).name() + " " + year);
-        subTitleCell.setCellStyle(styles.get("subtitle"));
+        subTitleCell.setCellStyle(styles[StyleKey.SUBTITLE.ordinal()]);
         sheet.addMergedRegion(new CellRangeAddress(1, 1, 0, 9));
     }
 
     // === Employee Info ===
-    public static void addEmployeeInfo(Sheet sheet, Properties props, Map<String, CellStyle> styles) {
+    public static void addEmployeeInfo(Sheet sheet, Properties props, CellStyle[] styles) {
         String employeeName = props.getProperty("name", "");
         String projectName  = props.getProperty("projectName", "");
         String managerName  = props.getProperty("managerName", "");
@@ -51,38 +51,38 @@ public class ExcelLayoutUtil {
         Row infoRow1 = sheet.createRow(3);
         infoRow1.setHeightInPoints(18);
         infoRow1.createCell(0).setCellValue("Employee Name");
-        infoRow1.getCell(0).setCellStyle(styles.get("label"));
+        infoRow1.getCell(0).setCellStyle(styles[StyleKey.LABEL.ordinal()]);
         infoRow1.createCell(1).setCellValue(employeeName);
-        infoRow1.getCell(1).setCellStyle(styles.get("value"));
+        infoRow1.getCell(1).setCellStyle(styles[StyleKey.VALUE.ordinal()]);
 
         infoRow1.createCell(3).setCellValue("Project Name");
-        infoRow1.getCell(3).setCellStyle(styles.get("label"));
+        infoRow1.getCell(3).setCellStyle(styles[StyleKey.LABEL.ordinal()]);
         infoRow1.createCell(4).setCellValue(projectName);
-        infoRow1.getCell(4).setCellStyle(styles.get("value"));
+        infoRow1.getCell(4).setCellStyle(styles[StyleKey.VALUE.ordinal()]);
 
         Row infoRow2 = sheet.createRow(4);
         infoRow2.setHeightInPoints(18);
         infoRow2.createCell(0).setCellValue("Manager Name");
-        infoRow2.getCell(0).setCellStyle(styles.get("label"));
+        infoRow2.getCell(0).setCellStyle(styles[StyleKey.LABEL.ordinal()]);
         infoRow2.createCell(1).setCellValue(managerName);
-        infoRow2.getCell(1).setCellStyle(styles.get("value"));
+        infoRow2.getCell(1).setCellStyle(styles[StyleKey.VALUE.ordinal()]);
 
         infoRow2.createCell(3).setCellValue("Employee ID");
-        infoRow2.getCell(3).setCellStyle(styles.get("label"));
+        infoRow2.getCell(3).setCellStyle(styles[StyleKey.LABEL.ordinal()]);
         infoRow2.createCell(4).setCellValue(employeeId);
-        infoRow2.getCell(4).setCellStyle(styles.get("value"));
+        infoRow2.getCell(4).setCellStyle(styles[StyleKey.VALUE.ordinal()]);
     }
 
     // === Table Header ===
-    public static void addTableHeader(Sheet sheet, Map<String, CellStyle> styles) {
+    public static void addTableHeader(Sheet sheet, CellStyle[] styles) {
         Row headerRow = sheet.createRow(6);
         headerRow.setHeightInPoints(20);
 
         headerRow.createCell(0).setCellValue("Date");
-        headerRow.getCell(0).setCellStyle(styles.get("header"));
+        headerRow.getCell(0).setCellStyle(styles[StyleKey.HEADER.ordinal()]);
 
         headerRow.createCell(1).setCellValue("Task");
-        headerRow.getCell(1).setCellStyle(styles.get("header"));
+        headerRow.getCell(1).setCellStyle(styles[StyleKey.HEADER.ordinal()]);
         sheet.addMergedRegion(new CellRangeAddress(6, 6, 1, 9));
     }
 
@@ -90,14 +90,22 @@ public class ExcelLayoutUtil {
      * === Fill Dates & Tasks ===
      * Keeps your core logic:
      * - Date iteration and key format
-     * - Weekend detection (Sun, 2nd Sat, 4th Sat)
+     * - Off days (week-off and holidays) from the {@link WorkCalendar} month bitmap
      * - Merge task columns 1..9 for each row
      * - Paste tasks from txt (joined with newline)
      * Only visual change: zebra striping for weekdays, pastel for weekend.
      */
     public static void fillDatesAndTasks(Sheet sheet, int monthNum, int year,
                                          Map<String, List<String>> dateTasks,
-                                         Map<String, CellStyle> styles) {
+                                         CellStyle[] styles) {
+        fillDatesAndTasks(sheet, monthNum, year, WorkCalendar.STANDARD, dateTasks, styles);
+    }
+
+    public static void fillDatesAndTasks(Sheet sheet, int monthNum, int year, WorkCalendar calendar,
+                                         Map<String, List<String>> dateTasks,
+                                         CellStyle[] styles) {
+        int offDays = calendar.offDays(year, monthNum);
+        int holidays = calendar.holidays(year, monthNum);
         LocalDate startDate = LocalDate.of(year, monthNum, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
         DateTimeFormatter fileDateFormatter = DateTimeFormatter.ofPattern("MMM_dd_yyyy", Locale.ENGLISH);
@@ -105,15 +113,20 @@ public class ExcelLayoutUtil {
         int rowNum = 7;
         boolean zebra = false; // toggles only across weekdays
 
+        // Resolved once instead of per cell
+        CellStyle weekendDateStyle = styles[StyleKey.WEEKEND_DATE.ordinal()];
+        CellStyle weekendTaskStyle = styles[StyleKey.WEEKEND_TASK.ordinal()];
+        CellStyle dateStyleA = styles[StyleKey.DATE.ordinal()];
+        CellStyle dateStyleB = styles[StyleKey.DATE_ALT.ordinal()];
+        CellStyle taskStyleA = styles[StyleKey.TASK.ordinal()];
+        CellStyle taskStyleB = styles[StyleKey.TASK_ALT.ordinal()];
+
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
             Row row = sheet.createRow(rowNum++);
             row.setHeightInPoints(28);
             String dateKey = date.format(fileDateFormatter).toLowerCase();
 
-            boolean isSunday     = date.getDayOfWeek() == DayOfWeek.SUNDAY;
-            boolean isSecondSat  = date.getDayOfWeek() == DayOfWeek.SATURDAY && ((date.getDayOfMonth() - 1) / 7 + 1) == 2;
-            boolean isFourthSat  = date.getDayOfWeek() == DayOfWeek.SATURDAY && ((date.getDayOfMonth() - 1) / 7 + 1) == 4;
-            boolean isWeekendOff = (isSunday || isSecondSat || isFourthSat);
+            boolean isWeekendOff = WorkCalendar.isSet(offDays, date.getDayOfMonth());
 
             // Date cell
             Cell dateCell = row.createCell(0);
@@ -126,20 +139,20 @@ public class ExcelLayoutUtil {
             Cell taskCell = row.createCell(1);
 
             if (isWeekendOff) {
-                // Weekend styling (pastel blue) + "Week Off"
-                dateCell.setCellStyle(styles.get("weekendDate"));
-                taskCell.setCellValue("Week Off");
-                taskCell.setCellStyle(styles.get("weekendTask"));
+                // Weekend styling (pastel blue) + "Week Off" / "Holiday"
+                dateCell.setCellStyle(weekendDateStyle);
+                taskCell.setCellValue(WorkCalendar.isSet(holidays, date.getDayOfMonth()) ? "Holiday" : "Week Off");
+                taskCell.setCellStyle(weekendTaskStyle);
 
                 // Create the hidden merged cells 2..9 with same weekend border/fill for a clean block
                 for (int col = 2; col <= 9; col++) {
                     Cell c = row.createCell(col);
-                    c.setCellStyle(styles.get("weekendTask"));
+                    c.setCellStyle(weekendTaskStyle);
                 }
             } else {
                 // Zebra striping for weekdays
-                CellStyle dateStyle = zebra ? styles.get("date") : styles.get("dateAlt");
-                CellStyle taskStyle = zebra ? styles.get("task") : styles.get("taskAlt");
+                CellStyle dateStyle = zebra ? dateStyleA : dateStyleB;
+                CellStyle taskStyle = zebra ? taskStyleA : taskStyleB;
 
                 dateCell.setCellStyle(dateStyle);
 
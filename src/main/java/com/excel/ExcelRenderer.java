@@ -0,0 +1,36 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * The worksheet: one sheet per month (plus a summary sheet for ranges), written by {@link WorkbookWriter}.
+ * With updateExisting=true an existing single-month worksheet is patched by {@link WorkbookUpdater} instead.
+ */
+public class ExcelRenderer implements Renderer {
+
+    @Override
+    public String name() {
+        return "excel";
+    }
+
+    @Override
+    public File render(ReportData data, File dir) throws IOException {
+        File output = new File(dir, data.baseName + ".xlsx");
+        if (output.isFile() && Boolean.parseBoolean(data.props.getProperty("updateExisting", "false").trim())) {
+            long start = System.nanoTime();
+            boolean updated = WorkbookUpdater.update(output, data);
+            data.metrics.time("excel.update", start);
+            if (updated) return output;
+        }
+
+        Workbook workbook = MonthExcelGenerator.createWorkbook(data.months, data.year, data.props, data.metrics);
+        WorkbookUpdater.recordSources(workbook, data);
+        long start = System.nanoTime();
+        MonthExcelGenerator.saveWorkbook(workbook, output, WorkbookWriter.fromProperties(data.props));
+        data.metrics.time("excel.write", start);
+        return output;
+    }
+}
@@ -0,0 +1,32 @@
+package com.excel;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the union of normalized Jira tickets (PROJECT-123) across all ingested logs,
+ * and which tickets each log mentioned (for the per-date CSV/NDJSON exports).
+ */
+public class JiraCollector implements LogSink {
+
+    private final Set<String> jiraTickets = new HashSet<>();
+    private final Map<String, List<String>> ticketsByLog = new HashMap<>();
+
+    @Override
+    public void accept(ParsedLog log) {
+        jiraTickets.addAll(log.getTickets());
+        if (!log.getTickets().isEmpty()) ticketsByLog.put(log.getFileKey(), log.getTickets());
+    }
+
+    public Set<String> getTickets() {
+        return jiraTickets;
+    }
+
+    /** Tickets per log file key (the date key in month scope); logs without tickets are absent. */
+    public Map<String, List<String>> getTicketsByLog() {
+        return ticketsByLog;
+    }
+}
@@ -0,0 +1,324 @@
+package com.excel;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiPredicate;
+
+/**
+ * Persistent index of Jira tickets: which log file (and date) mentioned which tickets, kept next to the logs.
+ *
+ * State is one entry per log file key. Every run appends only the entries that changed ("+" = the file now
+ * mentions these tickets, "-" = the file is gone or mentions none) to an append-only log; once the log holds
+ * more records than there are live entries it is compacted into the snapshot. Replaying a record is idempotent,
+ * so a crash between writing the snapshot and truncating the log loses nothing.
+ *
+ * Answers per-ticket history (days, files, first/last seen) and per-project range queries without re-reading
+ * any daily log; All_Jiras.txt is derived from it.
+ */
+public class JiraIndex {
+
+    public static final String SNAPSHOT_FILE_NAME = ".worksheet-jira-index";
+    public static final String LOG_FILE_NAME = ".worksheet-jira-index.log";
+
+    private static final String HEADER = "# worksheet jira index v1";
+    // Compact once the log is this long and longer than the snapshot it amends
+    private static final int COMPACT_MIN_RECORDS = 256;
+
+    // === One log file's tickets ===
+    private static class Entry {
+        final LocalDate date;       // null when the file name encodes no date
+        final List<String> tickets; // sorted, never empty
+
+        Entry(LocalDate date, List<String> tickets) {
+            this.date = date;
+            this.tickets = tickets;
+        }
+
+        boolean sameAs(LocalDate otherDate, List<String> otherTickets) {
+            return (date == null ? otherDate == null : date.equals(otherDate)) && tickets.equals(otherTickets);
+        }
+    }
+
+    // === Query Result ===
+    /** Where one ticket was mentioned. Dates and files are sorted; files without a date only count as files. */
+    public static class TicketHistory {
+        public final String ticket;
+        public final SortedSet<LocalDate> days = new TreeSet<>();
+        public final SortedSet<String> files = new TreeSet<>();
+
+        TicketHistory(String ticket) {
+            this.ticket = ticket;
+        }
+
+        public LocalDate firstSeen() {
+            return days.isEmpty() ? null : days.first();
+        }
+
+        public LocalDate lastSeen() {
+            return days.isEmpty() ? null : days.last();
+        }
+
+        /** Days mentioned within from..to (inclusive; null = unbounded). */
+        public SortedSet<LocalDate> daysBetween(LocalDate from, LocalDate to) {
+            SortedSet<LocalDate> range = days;
+            if (from != null) range = range.tailSet(from);
+            if (to != null) range = range.headSet(to.plusDays(1));
+            return range;
+        }
+    }
+
+    private final File snapshotFile;
+    private final File logFile;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<String> pending = new ArrayList<>();
+    private int logRecords;
+    private boolean rewrite;
+    private int appended;
+
+    private JiraIndex(File dir) {
+        this.snapshotFile = new File(dir, SNAPSHOT_FILE_NAME);
+        this.logFile = new File(dir, LOG_FILE_NAME);
+    }
+
+    /** Loads the index of dir (snapshot + log), or starts an empty one if there is none or it is unreadable. */
+    public static JiraIndex load(File dir) {
+        JiraIndex index = new JiraIndex(dir);
+        try {
+            if (index.snapshotFile.isFile()) index.replay(index.snapshotFile);
+            if (index.logFile.isFile()) index.logRecords = index.replay(index.logFile);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable Jira index in " + dir.getPath() + ": " + e);
+            index.entries.clear();
+            index.rewrite = true;
+        }
+        return index;
+    }
+
+    // === Updating ===
+    /**
+     * Brings the index in line with one ingestion: logs in ticketsByLog are (re)indexed, and indexed logs that
+     * inScope covers but that were not ingested are dropped (deleted, or no longer mentioning a ticket).
+     * Log file keys are dated by the canonical date key or, failing that, by datePattern.
+     */
+    public void update(Map<String, List<String>> ticketsByLog, String datePattern,
+                       BiPredicate<String, LocalDate> inScope) {
+        for (Map.Entry<String, List<String>> log : ticketsByLog.entrySet()) {
+            if (log.getValue().isEmpty()) continue;
+            String fileKey = log.getKey();
+            LocalDate date = dateOfKey(fileKey, datePattern);
+            List<String> tickets = new ArrayList<>(new TreeSet<>(log.getValue()));
+            Entry current = entries.get(fileKey);
+            if (current == null || !current.sameAs(date, tickets)) {
+                entries.put(fileKey, new Entry(date, Collections.unmodifiableList(tickets)));
+                pending.add("+\t" + fileKey + "\t" + (date == null ? "" : date) + "\t" + String.join(" ", tickets));
+            }
+        }
+        for (String fileKey : new ArrayList<>(entries.keySet())) {
+            List<String> seen = ticketsByLog.get(fileKey);
+            if ((seen == null || seen.isEmpty()) && inScope.test(fileKey, entries.get(fileKey).date)) {
+                entries.remove(fileKey);
+                pending.add("-\t" + fileKey);
+            }
+        }
+    }
+
+    private static LocalDate dateOfKey(String fileKey, String datePattern) {
+        LocalDate date = LogIngestor.dateOf(fileKey, "MMM_dd_yyyy");
+        return date != null ? date : LogIngestor.dateOf(fileKey, datePattern);
+    }
+
+    // === Persistence ===
+    /** Appends the changes since the last save, compacting into the snapshot when the log has grown long. */
+    public void save() throws IOException {
+        appended += pending.size();
+        logRecords += pending.size();
+        if (rewrite || (logRecords >= COMPACT_MIN_RECORDS && logRecords > entries.size())) {
+            compact();
+        } else if (!pending.isEmpty()) {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(logFile, true), StandardCharsets.UTF_8))) {
+                for (String record : pending) out.write(record + "\n");
+            }
+        }
+        pending.clear();
+    }
+
+    private void compact() throws IOException {
+        File tmp = new File(snapshotFile.getPath() + ".tmp");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            out.write(HEADER + "\n");
+            for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+                Entry entry = e.getValue();
+                out.write("+\t" + e.getKey() + "\t" + (entry.date == null ? "" : entry.date) + "\t"
+                        + String.join(" ", entry.tickets) + "\n");
+            }
+        }
+        WorkbookWriter.moveIntoPlace(tmp, snapshotFile);
+        Files.deleteIfExists(logFile.toPath());
+        logRecords = 0;
+        rewrite = false;
+    }
+
+    /** @return records applied */
+    private int replay(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        int complete = bytes.length;
+        while (complete > 0 && bytes[complete - 1] != '\n') complete--;
+        if (complete < bytes.length) {
+            // A record without its newline was cut off by a crash mid-append: drop it, so appends start on a new line
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+            }
+        }
+
+        int records = 0;
+        for (String record : new String(bytes, 0, complete, StandardCharsets.UTF_8).split("\n")) {
+            if (record.isEmpty() || record.startsWith("#")) continue;
+            String[] fields = record.split("\t", -1);
+            if (fields[0].equals("+") && fields.length == 4) {
+                LocalDate date = fields[2].isEmpty() ? null : LocalDate.parse(fields[2]);
+                List<String> tickets = new ArrayList<>();
+                Collections.addAll(tickets, fields[3].split(" "));
+                entries.put(fields[1], new Entry(date, Collections.unmodifiableList(tickets)));
+            } else if (fields[0].equals("-") && fields.length == 2) {
+                entries.remove(fields[1]);
+            } else {
+                throw new IOException("malformed record in " + file.getName() + ": " + record);
+            }
+            records++;
+        }
+        return records;
+    }
+
+    /** Records appended by save() since this index was loaded. */
+    public int getAppended() {
+        return appended;
+    }
+
+    // === Queries ===
+    /** Sorted tickets of the indexed logs inScope accepts. */
+    public SortedSet<String> tickets(BiPredicate<String, LocalDate> inScope) {
+        SortedSet<String> tickets = new TreeSet<>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (inScope.test(e.getKey(), e.getValue().date)) tickets.addAll(e.getValue().tickets);
+        }
+        return tickets;
+    }
+
+    /** @return the history of ticket, or null if no indexed log mentions it */
+    public TicketHistory history(String ticket) {
+        return histories(ticket.toUpperCase(), null).get(ticket.toUpperCase());
+    }
+
+    /**
+     * Histories of the tickets of project (every project if null) mentioned within from..to (inclusive,
+     * null = unbounded). Histories are complete, not cut to the range. Logs without a date only match an
+     * unbounded query.
+     */
+    public SortedMap<String, TicketHistory> project(String project, LocalDate from, LocalDate to) {
+        SortedMap<String, TicketHistory> matches = new TreeMap<>();
+        boolean bounded = from != null || to != null;
+        for (TicketHistory history : histories(null, project == null ? null : project.toUpperCase() + "-").values()) {
+            if (!bounded || !history.daysBetween(from, to).isEmpty()) matches.put(history.ticket, history);
+        }
+        return matches;
+    }
+
+    private SortedMap<String, TicketHistory> histories(String ticket, String prefix) {
+        SortedMap<String, TicketHistory> histories = new TreeMap<>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            for (String t : e.getValue().tickets) {
+                if ((ticket != null && !ticket.equals(t)) || (prefix != null && !t.startsWith(prefix))) continue;
+                TicketHistory history = histories.get(t);
+                if (history == null) {
+                    history = new TicketHistory(t);
+                    histories.put(t, history);
+                }
+                history.files.add(e.getKey());
+                if (e.getValue().date != null) history.days.add(e.getValue().date);
+            }
+        }
+        return histories;
+    }
+
+    // === Command Line ===
+    /**
+     * "--jiras <dir> <TICKET>" prints the days and files of one ticket;
+     * "--jiras <dir> <PROJECT|*> [period]" lists a project's tickets, period = 2025, 2025-Q3, 2025-08 or
+     * 2025-07-01..2025-09-30.
+     * @return false if nothing matched
+     */
+    static boolean runQuery(File dir, String subject, String period) {
+        JiraIndex index = load(dir);
+        if (subject.matches("[A-Za-z][A-Za-z0-9_]*-\\d+")) {
+            TicketHistory history = index.history(subject);
+            if (history == null) {
+                System.out.println(subject.toUpperCase() + " is not mentioned in any indexed log of " + dir.getPath());
+                return false;
+            }
+            System.out.println(history.ticket + ": " + history.days.size() + " day(s) in " + history.files.size()
+                    + " log(s), first seen " + history.firstSeen() + ", last seen " + history.lastSeen());
+            for (LocalDate day : history.days) System.out.println("  " + day);
+            return true;
+        }
+
+        LocalDate[] range = parsePeriod(period);
+        String project = "*".equals(subject) ? null : subject;
+        SortedMap<String, TicketHistory> matches = index.project(project, range[0], range[1]);
+        System.out.println((project == null ? "All" : project.toUpperCase()) + " tickets"
+                + (period == null ? "" : " in " + range[0] + ".." + range[1]) + ": " + matches.size());
+        for (TicketHistory history : matches.values()) {
+            System.out.println("  " + history.ticket + "  " + history.daysBetween(range[0], range[1]).size()
+                    + " day(s)  first seen " + history.firstSeen() + ", last seen " + history.lastSeen());
+        }
+        return !matches.isEmpty();
+    }
+
+    // 2025 | 2025-Q3 | 2025-08 | 2025-07-01..2025-09-30 -> {from, to}; null -> unbounded
+    static LocalDate[] parsePeriod(String period) {
+        if (period == null) return new LocalDate[2];
+        String p = period.trim().toUpperCase();
+        try {
+            if (p.contains("..")) {
+                return new LocalDate[]{LocalDate.parse(p.substring(0, p.indexOf(".."))),
+                        LocalDate.parse(p.substring(p.indexOf("..") + 2))};
+            }
+            if (p.matches("\\d{4}-Q[1-4]")) {
+                YearMonth first = YearMonth.of(Integer.parseInt(p.substring(0, 4)), (p.charAt(6) - '1') * 3 + 1);
+                return new LocalDate[]{first.atDay(1), first.plusMonths(2).atEndOfMonth()};
+            }
+            if (p.matches("\\d{4}-\\d{2}")) {
+                YearMonth month = YearMonth.parse(p);
+                return new LocalDate[]{month.atDay(1), month.atEndOfMonth()};
+            }
+            if (p.matches("\\d{4}")) {
+                int year = Integer.parseInt(p);
+                return new LocalDate[]{LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)};
+            }
+        } catch (DateTimeParseException e) {
+            // fall through to the usage error
+        }
+        throw new IllegalArgumentException("Invalid period: " + period
+                + " (expected 2025, 2025-Q3, 2025-08 or 2025-07-01..2025-09-30)");
+    }
+}
@@ -0,0 +1,222 @@
+package com.excel;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Finds Jira tickets mentioned as "jira PROJECT 123" (or "jira project-123") and normalizes them to PROJECT-123.
+ * Only tickets of the allowed project keys are reported.
+ *
+ * Hand-written scanner with exactly the semantics of the former regex
+ * {@code (?i)\bjira\s+([a-zA-Z]+)[- ]?(\d+)\b}: it walks the characters once, matches the project letters against
+ * a case-folding trie of the allowed keys while scanning, and only allocates the final ticket String.
+ * Instances reuse a scratch buffer and are not thread-safe; use one per ingestion.
+ */
+public class JiraMatcher {
+
+    public static final String DEFAULT_PROJECTS = "HDAG,HCAG,HCCUG,HDCUG,APIGW,ESB,KAFKA,OHAB";
+
+    private static final int ALPHABET = 26;
+    private static final int MORE_TEXT = -2;
+
+    private final Set<String> allowedProjects = new TreeSet<>();
+    // Trie over A-Z: next[state * 26 + letter] is the next state or -1; terminal[state] marks a complete key
+    private int[] next;
+    private boolean[] terminal;
+    private int states;
+    private final StringBuilder ticket = new StringBuilder(16);
+
+    public JiraMatcher() {
+        this(Arrays.asList(DEFAULT_PROJECTS.split(",")));
+    }
+
+    public JiraMatcher(Collection<String> projects) {
+        next = new int[ALPHABET * 8];
+        Arrays.fill(next, -1);
+        terminal = new boolean[8];
+        states = 1; // root
+        for (String project : projects) {
+            String key = project.trim().toUpperCase();
+            if (key.isEmpty()) continue;
+            if (!key.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+                // The project part of a mention is letters only, so such a key could never match
+                System.err.println("Ignoring Jira project key '" + project.trim() + "': only letters A-Z are allowed.");
+                continue;
+            }
+            allowedProjects.add(key);
+            addKey(key);
+        }
+    }
+
+    /** Allowed keys from input.txt "jiraProjects" (comma separated), defaulting to {@link #DEFAULT_PROJECTS}. */
+    public static JiraMatcher fromProperties(Properties props) {
+        return new JiraMatcher(Arrays.asList(props.getProperty("jiraProjects", DEFAULT_PROJECTS).split(",")));
+    }
+
+    /** Identifies the matching rules; parse-cache entries built under different rules are discarded. */
+    public String signature() {
+        return "scan1:" + String.join(",", allowedProjects);
+    }
+
+    // === Scanning ===
+    public void scan(char[] buffer, int offset, int length, Collection<String> out) {
+        scan(CharBuffer.wrap(buffer, offset, length), out);
+    }
+
+    public void scan(CharSequence text, Collection<String> out) {
+        scan(text, 0, false, out);
+    }
+
+    /**
+     * Scans one window of a line that is read in pieces (see {@link LogReader}). Mentions that could still run on
+     * past the end of text are left out; the caller passes them again, with the text that follows, starting at the
+     * returned index (keeping the text from {@link #keepFrom} on for the \b check).
+     * @return index where the next window has to resume scanning
+     */
+    public int scanWindow(CharSequence text, int from, Collection<String> out) {
+        return scan(text, from, true, out);
+    }
+
+    /**
+     * First index of text a window resuming at resume still needs: the code point before it, and if that is a
+     * non-spacing mark, every mark before it and the character they sit on.
+     */
+    public static int keepFrom(CharSequence text, int resume) {
+        int k = Math.max(0, resume - 2);
+        while (k > 0 && (Character.getType(text.charAt(k)) == Character.NON_SPACING_MARK
+                || Character.isLowSurrogate(text.charAt(k)))) {
+            k--;
+        }
+        return k;
+    }
+
+    /** Rest of a line read in windows: like {@link #scan(CharSequence, Collection)}, starting at from. */
+    public void scanTail(CharSequence text, int from, Collection<String> out) {
+        scan(text, from, false, out);
+    }
+
+    private int scan(CharSequence text, int from, boolean partial, Collection<String> out) {
+        int n = text.length();
+        int i = from;
+        while (i + 4 <= n) {
+            if ((text.charAt(i) | 0x20) != 'j') {
+                i++;
+                continue;
+            }
+            int end = matchAt(text, i, n, partial, out);
+            if (end == MORE_TEXT) return i;
+            // Like Matcher.find(): resume after a match, otherwise at the next character
+            i = end > 0 ? end : i + 1;
+        }
+        return i;
+    }
+
+    /** @return end of the mention starting at start, -1 if there is none, MORE_TEXT if partial text cannot tell */
+    private int matchAt(CharSequence text, int start, int n, boolean partial, Collection<String> out) {
+        // \bjira
+        if (start > 0 && isWordBefore(text, start)) return -1;
+        if ((text.charAt(start + 1) | 0x20) != 'i'
+                || (text.charAt(start + 2) | 0x20) != 'r'
+                || (text.charAt(start + 3) | 0x20) != 'a') return -1;
+
+        // \s+
+        int p = start + 4;
+        while (p < n && isSpace(text.charAt(p))) p++;
+        if (partial && p == n) return MORE_TEXT;
+        if (p == start + 4) return -1;
+
+        // ([a-zA-Z]+), walking the trie alongside
+        int lettersStart = p;
+        int state = 0;
+        while (p < n && isLetter(text.charAt(p))) {
+            if (state >= 0) state = next[state * ALPHABET + ((text.charAt(p) | 0x20) - 'a')];
+            p++;
+        }
+        if (partial && p + 1 >= n) return MORE_TEXT;
+        if (p == lettersStart) return -1;
+        int lettersEnd = p;
+
+        // [- ]? (only useful when a digit follows; otherwise the digit must come right after the letters)
+        if (p + 1 < n && (text.charAt(p) == '-' || text.charAt(p) == ' ') && isDigit(text.charAt(p + 1))) p++;
+
+        // (\d+)\b - backtracking into the digits can never create a boundary, so the whole run must end at one
+        int digitsStart = p;
+        while (p < n && isDigit(text.charAt(p))) p++;
+        if (partial && p == n) return MORE_TEXT;
+        if (p == digitsStart) return -1;
+        // A surrogate pair cut by the window end: its code point decides the boundary
+        if (partial && p + 1 == n && Character.isHighSurrogate(text.charAt(p))) return MORE_TEXT;
+        if (p < n) {
+            // A non-spacing mark here sits on the last digit, so it also continues the word
+            int cp = Character.codePointAt(text, p);
+            if (isWord(cp) || Character.getType(cp) == Character.NON_SPACING_MARK) return -1;
+        }
+
+        if (state >= 0 && terminal[state]) {
+            ticket.setLength(0);
+            for (int k = lettersStart; k < lettersEnd; k++) ticket.append((char) (text.charAt(k) & ~0x20));
+            ticket.append('-');
+            for (int k = digitsStart; k < p; k++) ticket.append(text.charAt(k));
+            out.add(ticket.toString());
+        }
+        return p;
+    }
+
+    // === Character classes (java.util.regex defaults, no UNICODE_CHARACTER_CLASS) ===
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // \b word characters are Unicode letters/digits and '_'
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    // \b also treats a non-spacing mark as a word character when it sits on a letter or digit
+    private static boolean isWordBefore(CharSequence text, int index) {
+        int cp = Character.codePointBefore(text, index);
+        if (isWord(cp)) return true;
+        if (Character.getType(cp) != Character.NON_SPACING_MARK) return false;
+        for (int x = index - 1; x >= 0; x--) {
+            int ch = Character.codePointAt(text, x);
+            if (Character.isLetterOrDigit(ch)) return true;
+            if (Character.getType(ch) != Character.NON_SPACING_MARK) return false;
+        }
+        return false;
+    }
+
+    // === Trie ===
+    private void addKey(String key) {
+        int state = 0;
+        for (int k = 0; k < key.length(); k++) {
+            int slot = state * ALPHABET + (key.charAt(k) - 'A');
+            if (next[slot] < 0) {
+                ensureCapacity(states + 1);
+                next[slot] = states++;
+            }
+            state = next[slot];
+        }
+        terminal[state] = true;
+    }
+
+    private void ensureCapacity(int stateCount) {
+        if (stateCount <= terminal.length) return;
+        int capacity = Math.max(stateCount, terminal.length * 2);
+        int oldLength = next.length;
+        next = Arrays.copyOf(next, capacity * ALPHABET);
+        Arrays.fill(next, oldLength, next.length, -1);
+        terminal = Arrays.copyOf(terminal, capacity);
+    }
+}
@@ -0,0 +1,227 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Single ingestion pass over the daily logs.
+ * Parses each selected .txt file once (or takes it from the parse cache) and hands the result to all sinks,
+ * so task loading and Jira extraction no longer read and decode the same bytes twice.
+ *
+ * Three ways to pick the files:
+ * - {@link #ingest}: every .txt in the directory (legacy behaviour)
+ * - {@link #ingestMonth}: only the 28-31 file names expected for one month, no directory listing
+ * - {@link #ingestGlob}: files matching a glob, e.g. "*_2025.txt"
+ *
+ * Logs are read by {@link LogReader} in constant memory. A day whose text exceeds the size budget (input.txt
+ * "maxDayChars") keeps what fits; the rest goes to overflow/&lt;file key&gt;.txt next to the logs.
+ */
+public class LogIngestor {
+
+    // Key format fillDatesAndTasks looks tasks up by, e.g. "aug_01_2025"
+    public static final DateTimeFormatter FILE_KEY_FORMAT = DateTimeFormatter.ofPattern("MMM_dd_yyyy", Locale.ENGLISH);
+
+    // === Day Size Budget ===
+    // Excel refuses cells over 32,767 characters; the rest of the limit is left for the overflow note
+    public static final int CELL_LIMIT = 32767;
+    public static final int MAX_DAY_CHARS = CELL_LIMIT - 512;
+    public static final int DEFAULT_MAX_DAY_CHARS = 32000;
+    public static final String OVERFLOW_DIR = "overflow";
+
+    private final ParseCache cache;
+    private final LogReader reader;
+
+    // === Counters (read into RunMetrics after ingestion; one ingestor is used by one thread) ===
+    private long logsIngested;
+    private long ticketsMatched;
+    private long filesParsed;
+    private long bytesRead;
+    private long listNanos;
+    private long logsOverBudget;
+    private long overflowChars;
+
+    /** @param cache may be null to always parse */
+    public LogIngestor(JiraMatcher jiraMatcher, ParseCache cache) {
+        this(jiraMatcher, cache, DEFAULT_MAX_DAY_CHARS);
+    }
+
+    /** @param maxDayChars characters of a day's log kept for its task cell, see {@link #maxDayChars} */
+    public LogIngestor(JiraMatcher jiraMatcher, ParseCache cache, int maxDayChars) {
+        this.cache = cache;
+        this.reader = new LogReader(jiraMatcher, maxDayChars);
+    }
+
+    /** input.txt "maxDayChars", limited to what still fits a cell together with the overflow note. */
+    static int maxDayChars(Properties props) {
+        int value = Integer.parseInt(props.getProperty("maxDayChars", String.valueOf(DEFAULT_MAX_DAY_CHARS)).trim());
+        if (value < 1 || value > MAX_DAY_CHARS) {
+            int limited = Math.max(1, Math.min(value, MAX_DAY_CHARS));
+            System.err.println("maxDayChars=" + value + " is outside 1.." + MAX_DAY_CHARS + "; using " + limited);
+            return limited;
+        }
+        return value;
+    }
+
+    /** Where the part of a log over the day's budget is written: overflow/&lt;file key&gt;.txt next to the log. */
+    static File overflowFile(File log, String fileKey) {
+        return new File(new File(log.getAbsoluteFile().getParentFile(), OVERFLOW_DIR), fileKey + ".txt");
+    }
+
+    /** The overflow file as linked from a worksheet in the logs' directory. */
+    static String overflowLink(String fileKey) {
+        return OVERFLOW_DIR + "/" + fileKey + ".txt";
+    }
+
+    // === All .txt files ===
+    public void ingest(File folder, LogSink... sinks) throws IOException {
+        long listStart = System.nanoTime();
+        File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(".txt"));
+        listNanos += System.nanoTime() - listStart;
+        if (files == null) return;
+
+        for (File file : files) {
+            ingestFile(file, fileKey(file), sinks);
+        }
+    }
+
+    // === Month-scoped ===
+    /**
+     * Opens only the log files expected for the given month, named by datePattern (e.g. "MMM_dd_yyyy" or "yyyy-MM-dd").
+     * Logs are keyed by the canonical MMM_dd_yyyy date key, whatever the file naming.
+     * Logs of the calendar's off days are read when present but are not expected.
+     * @return expected file names that were not found
+     */
+    public List<String> ingestMonth(File folder, int monthNum, int year, String datePattern, WorkCalendar calendar,
+                                    LogSink... sinks) throws IOException {
+        DateTimeFormatter fileNameFormat = DateTimeFormatter.ofPattern(datePattern, Locale.ENGLISH);
+        LocalDate startDate = LocalDate.of(year, monthNum, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        int offDays = calendar.offDays(year, monthNum);
+        List<String> missing = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            File file = monthLogFile(folder, date, fileNameFormat);
+            if (file.isFile()) {
+                ingestFile(file, date.format(FILE_KEY_FORMAT).toLowerCase(), sinks);
+            } else if (!WorkCalendar.isSet(offDays, date.getDayOfMonth())) {
+                missing.add(file.getName());
+            }
+        }
+        return missing;
+    }
+
+    /** The log of date in month scope: the lower-case file name, else the name exactly as formatted; may not exist. */
+    static File monthLogFile(File folder, LocalDate date, DateTimeFormatter fileNameFormat) {
+        String formatted = date.format(fileNameFormat);
+        File file = new File(folder, formatted.toLowerCase() + ".txt");
+        if (!file.isFile()) {
+            // e.g. "Aug_01_2025.txt" on a case-sensitive file system
+            File exact = new File(folder, formatted + ".txt");
+            if (exact.isFile()) return exact;
+        }
+        return file;
+    }
+
+    // === Glob ===
+    public void ingestGlob(File folder, String glob, LogSink... sinks) throws IOException {
+        // Listing is lazy here, so list first to keep its time apart from parsing
+        long listStart = System.nanoTime();
+        List<File> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.toPath(), glob)) {
+            for (Path path : stream) {
+                File file = path.toFile();
+                if (file.isFile()) files.add(file);
+            }
+        }
+        listNanos += System.nanoTime() - listStart;
+
+        for (File file : files) {
+            ingestFile(file, fileKey(file), sinks);
+        }
+    }
+
+    public ParseCache getCache() {
+        return cache;
+    }
+
+    /** Adds this ingestor's counters (files, bytes, lines, tickets, overflow, listing and matching time) to metrics. */
+    void reportTo(RunMetrics metrics) {
+        metrics.add("logs_ingested", logsIngested);
+        metrics.add("files_parsed", filesParsed);
+        metrics.add("bytes_read", bytesRead);
+        metrics.add("lines_parsed", reader.getLinesRead());
+        metrics.add("tickets_matched", ticketsMatched);
+        metrics.add("logs_over_budget", logsOverBudget);
+        metrics.add("overflow_chars", overflowChars);
+        metrics.addNanos("ingest.list", listNanos);
+        metrics.addNanos("ingest.match", reader.getScanNanos());
+        if (cache != null) {
+            metrics.add("parse_cache_hits", cache.getHits());
+            metrics.add("parse_cache_misses", cache.getMisses());
+        }
+    }
+
+    static String fileKey(File file) {
+        return file.getName().replace(".txt", "").toLowerCase();
+    }
+
+    /** @return the date a log file name encodes under datePattern (any letter case), or null if it does not */
+    static LocalDate dateOf(String fileName, String datePattern) {
+        String base = fileName.toLowerCase().endsWith(".txt") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        DateTimeFormatter parser = new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendPattern(datePattern)
+                .toFormatter(Locale.ENGLISH);
+        try {
+            return LocalDate.parse(base, parser);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private void ingestFile(File file, String fileKey, LogSink[] sinks) throws IOException {
+        ParsedLog log = parse(file, fileKey);
+        logsIngested++;
+        ticketsMatched += log.getTickets().size();
+        if (log.getOverflowChars() > 0) {
+            logsOverBudget++;
+            overflowChars += log.getOverflowChars();
+        }
+        for (LogSink sink : sinks) {
+            sink.accept(log);
+        }
+    }
+
+    // === Parsing (cache-aware) ===
+    ParsedLog parse(File file, String fileKey) throws IOException {
+        if (cache == null) {
+            return parseFile(file, fileKey);
+        }
+        ParseCache.Fingerprint fingerprint = cache.fingerprint(file);
+        ParsedLog cached = cache.get(file, fingerprint, fileKey);
+        if (cached != null) {
+            return cached;
+        }
+        ParsedLog parsed = parseFile(file, fileKey);
+        cache.put(file, fingerprint, parsed);
+        return parsed;
+    }
+
+    private ParsedLog parseFile(File file, String fileKey) throws IOException {
+        ParsedLog log = reader.read(file, fileKey, overflowFile(file, fileKey));
+        filesParsed++;
+        bytesRead += file.length();
+        return log;
+    }
+}
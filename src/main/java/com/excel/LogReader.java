@@ -0,0 +1,238 @@
+package com.excel;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming reader for one daily log with a size budget for the day's task cell.
+ *
+ * The file is decoded through one reused byte/char buffer pair, so a log of any size is read in constant memory.
+ * Non-blank lines are kept until their joined text reaches the budget (input.txt "maxDayChars"); everything after
+ * that point is written to an overflow side file instead of being held, and only its length is reported. Lines
+ * longer than the scan window are matched for Jira mentions in windows, so one huge pasted line is never held
+ * in full either. Line breaks are \n, \r or \r\n as with BufferedReader.readLine(); malformed UTF-8 is replaced.
+ *
+ * Instances reuse their buffers and are not thread-safe; use one per ingestion.
+ */
+public class LogReader {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    // Longer lines are scanned and cut in windows of this size
+    static final int SCAN_WINDOW = 8 * 1024;
+
+    private final JiraMatcher jiraMatcher;
+    private final int maxDayChars;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // Unconsumed part of the current line; the part of a windowed line that goes into the cell
+    private final StringBuilder line = new StringBuilder(256);
+    private final StringBuilder kept = new StringBuilder();
+
+    // === Per-file state ===
+    private List<String> lines;
+    private Set<String> tickets;
+    private int used;
+    private Writer overflow;
+    private File overflowTmp;
+    private long overflowChars;
+    // === Per-line state ===
+    private int cellRoom;
+    // Chars of line before emittedTo have been sent to the cell or the overflow file
+    private int emittedTo;
+    private int scanFrom;
+    private boolean windowed;
+    private boolean blank;
+    private boolean inOverflow;
+    private boolean skipLf;
+
+    // === Counters ===
+    private long linesRead;
+    private long scanNanos;
+
+    public LogReader(JiraMatcher jiraMatcher, int maxDayChars) {
+        this.jiraMatcher = jiraMatcher;
+        this.maxDayChars = maxDayChars;
+    }
+
+    /**
+     * Reads file; content over the budget goes to overflowFile, which is deleted when the day fits.
+     * The overflow file is written to a temp file and renamed, so a reader never sees it half written.
+     */
+    public ParsedLog read(File file, String fileKey, File overflowFile) throws IOException {
+        lines = new ArrayList<>();
+        tickets = new LinkedHashSet<>();
+        used = 0;
+        overflowChars = 0;
+        overflowTmp = new File(overflowFile.getPath() + ".tmp");
+        skipLf = false;
+        startLine();
+        try {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                decoder.reset();
+                bytes.clear();
+                boolean eof = false;
+                while (!eof) {
+                    eof = channel.read(bytes) < 0;
+                    bytes.flip();
+                    // UTF-8 never yields more chars than bytes, so one decode call empties the byte buffer
+                    decoder.decode(bytes, chars, eof);
+                    if (eof) decoder.flush(chars);
+                    chars.flip();
+                    consume(chars.array(), chars.limit());
+                    chars.clear();
+                    bytes.compact();
+                }
+            }
+            if (line.length() > 0 || windowed) endLine();
+
+            if (overflow != null) {
+                overflow.close();
+                overflow = null;
+                WorkbookWriter.moveIntoPlace(overflowTmp, overflowFile);
+            } else {
+                Files.deleteIfExists(overflowFile.toPath());
+            }
+        } finally {
+            if (overflow != null) {
+                overflow.close();
+                overflow = null;
+                overflowTmp.delete();
+            }
+            line.setLength(0);
+            kept.setLength(0);
+        }
+        return new ParsedLog(fileKey, lines, new ArrayList<>(tickets), overflowChars);
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public long getScanNanos() {
+        return scanNanos;
+    }
+
+    // === Line splitting ===
+    private void consume(char[] text, int length) throws IOException {
+        int i = 0;
+        if (skipLf && length > 0) {
+            skipLf = false;
+            if (text[0] == '\n') i = 1;
+        }
+        int start = i;
+        for (; i < length; i++) {
+            char c = text[i];
+            if (c != '\n' && c != '\r') continue;
+            if (i > start) append(text, start, i - start);
+            endLine();
+            if (c == '\r') {
+                if (i + 1 >= length) skipLf = true;
+                else if (text[i + 1] == '\n') i++;
+            }
+            start = i + 1;
+        }
+        if (start < length) append(text, start, length - start);
+    }
+
+    private void append(char[] text, int offset, int length) throws IOException {
+        for (int k = offset; blank && k < offset + length; k++) {
+            if (text[k] > ' ') blank = false; // String.trim() semantics
+        }
+        line.append(text, offset, length);
+        if (line.length() >= SCAN_WINDOW) flushWindow();
+    }
+
+    // A long line: scan and hand out what is safe, keep the rest (and the \b context before it) for the next window
+    private void flushWindow() throws IOException {
+        windowed = true;
+        long start = System.nanoTime();
+        int resume = jiraMatcher.scanWindow(line, scanFrom, tickets);
+        scanNanos += System.nanoTime() - start;
+        // A pathological mention (thousands of blanks after "jira") is given up rather than buffered
+        if (line.length() - resume > SCAN_WINDOW) resume = line.length();
+
+        emit(line.length());
+        int carry = JiraMatcher.keepFrom(line, resume);
+        line.delete(0, carry);
+        scanFrom = resume - carry;
+        emittedTo = line.length();
+    }
+
+    // Sends line[emittedTo, to) to the cell while it has room, the rest to the overflow file
+    private void emit(int to) throws IOException {
+        int from = emittedTo;
+        if (from >= to) return;
+        int take = Math.max(0, Math.min(to - from, cellRoom - kept.length()));
+        kept.append(line, from, from + take);
+        if (from + take < to) writeOverflow(from + take, to);
+        emittedTo = to;
+    }
+
+    private void endLine() throws IOException {
+        long start = System.nanoTime();
+        jiraMatcher.scanTail(line, scanFrom, tickets);
+        scanNanos += System.nanoTime() - start;
+
+        if (!blank) {
+            linesRead++;
+            if (!windowed && overflow == null && line.length() <= cellRoom) {
+                // The common case: a short line that fits
+                keep(line.toString());
+            } else {
+                emit(line.length());
+                if (kept.length() > 0) keep(kept.toString());
+            }
+        }
+        if (inOverflow) {
+            overflow.write('\n');
+        }
+        startLine();
+    }
+
+    private void keep(String text) {
+        used += (lines.isEmpty() ? 0 : 1) + text.length();
+        lines.add(text);
+    }
+
+    private void startLine() {
+        line.setLength(0);
+        kept.setLength(0);
+        emittedTo = 0;
+        scanFrom = 0;
+        windowed = false;
+        blank = true;
+        inOverflow = false;
+        // Once the budget ran out, later lines go to the overflow file as well, keeping the file in log order
+        cellRoom = overflow != null ? 0 : Math.max(0, maxDayChars - used - (lines.isEmpty() ? 0 : 1));
+    }
+
+    // === Overflow side file ===
+    private void writeOverflow(int from, int to) throws IOException {
+        if (overflow == null) {
+            overflowTmp.getParentFile().mkdirs();
+            overflow = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(overflowTmp.toPath()),
+                    StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+        overflow.append(line, from, to);
+        overflowChars += to - from;
+        inOverflow = true;
+    }
+}
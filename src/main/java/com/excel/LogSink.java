@@ -0,0 +1,10 @@
+package com.excel;
+
+/**
+ * Consumer plugged into {@link LogIngestor}.
+ * Receives every selected daily log exactly once per run, either freshly parsed or served from the parse cache.
+ */
+public interface LogSink {
+
+    void accept(ParsedLog log);
+}
@@ -1,93 +1,492 @@
 package com.excel;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.time.DayOfWeek;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.Month;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
 
+import org.apache.poi.common.usermodel.HyperlinkType;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
 
 public class MonthExcelGenerator {
 
     // === RGB Color Config ===
-    private static final short[] SUB_HEADER_COLOR = new short[]{255, 204, 153}; // light orange
-    private static final short[] HEADER_COLOR = new short[]{204, 229, 255}; // light blue
-    private static final short[] LABEL_COLOR = new short[]{224, 224, 224}; // light grey
-    private static final short[] WEEKEND_COLOR = new short[]{255, 230, 230}; // light red
-    private static final short[] NORMAL_COLOR = new short[]{255, 255, 255}; // white
+    private static final int SUB_HEADER_COLOR = 0xFFCC99; // light orange
+    private static final int HEADER_COLOR = 0xCCE5FF; // light blue
+    private static final int LABEL_COLOR = 0xE0E0E0; // light grey
+    private static final int WEEKEND_COLOR = 0xFFE6E6; // light red
+    private static final int NORMAL_COLOR = 0xFFFFFF; // white
 
+    // === Styles (bordered, wrapped, default font size/colour) ===
+    private static final StyleSpec HEADER_STYLE = rgbStyle(HEADER_COLOR, true, HorizontalAlignment.CENTER, "Book Antiqua");
+    private static final StyleSpec SUB_HEADER_STYLE = rgbStyle(SUB_HEADER_COLOR, true, HorizontalAlignment.CENTER, "Calibri");
+    private static final StyleSpec LABEL_STYLE = rgbStyle(LABEL_COLOR, true, HorizontalAlignment.LEFT, "Calibri");
+    private static final StyleSpec WEEKEND_STYLE = rgbStyle(WEEKEND_COLOR, false, HorizontalAlignment.LEFT, "Calibri");
+    private static final StyleSpec WEEKEND_TASK_STYLE = rgbStyle(WEEKEND_COLOR, false, HorizontalAlignment.CENTER, "Calibri");
+    private static final StyleSpec DATE_BORDER_STYLE = rgbStyle(NORMAL_COLOR, true, HorizontalAlignment.LEFT, "Calibri");
+    private static final StyleSpec TASK_BORDER_STYLE = rgbStyle(NORMAL_COLOR, false, HorizontalAlignment.LEFT, "Calibri");
+
+    // === Output Mode Config (input.txt: outputMode=memory|streaming, streamWindow=<rows>) ===
+    static final String MODE_MEMORY = "memory";
+    static final String MODE_STREAMING = "streaming";
+    private static final int DEFAULT_STREAM_WINDOW = 100;
+
+    // First day of the month goes to this row, one row per day
+    static final int FIRST_DATE_ROW = 7;
+
+    private static final String[] SUMMARY_COLUMNS = {"Month", "Days", "Working Days", "Worked Days", "Off Days"};
+
+    // Columns 0..6 are sized to their content; the merged task block keeps the default width
+    static final int AUTO_SIZED_COLUMNS = 7;
+
+    // === Ingestion Scope Config (input.txt: ingestScope=month|all, logFilePattern=<date pattern>, logGlob=<glob>) ===
+    static final String SCOPE_MONTH = "month";
+    static final String SCOPE_ALL = "all";
+    private static final String DEFAULT_LOG_FILE_PATTERN = "MMM_dd_yyyy";
 
 
     public static void main(String[] args) throws Exception {
-        Properties props = loadInputFile();
-        int monthNum = Integer.parseInt(props.getProperty("month", "1"));
-        int year = Integer.parseInt(props.getProperty("year", String.valueOf(LocalDate.now().getYear())));
+        if (args.length > 0 && "--batch".equals(args[0])) {
+            if (args.length < 2) {
+                System.err.println("Usage: --batch <rootDir> [threads]");
+                System.exit(2);
+            }
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int failures = BatchGenerator.run(new File(args[1]), threads);
+            if (failures > 0) System.exit(1);
+            return;
+        }
+
+        if (args.length > 0 && "--rollup".equals(args[0])) {
+            if (args.length < 2) {
+                System.err.println("Usage: --rollup <rootDir> [threads]");
+                System.exit(2);
+            }
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int failures = OrgRollup.run(new File(args[1]), threads);
+            if (failures > 0) System.exit(1);
+            return;
+        }
+
+        if (args.length > 0 && "--jiras".equals(args[0])) {
+            if (args.length < 3) {
+                System.err.println("Usage: --jiras <dir> <TICKET> | --jiras <dir> <PROJECT|*> [period]");
+                System.exit(2);
+            }
+            if (!JiraIndex.runQuery(new File(args[1]), args[2], args.length > 3 ? args[3] : null)) System.exit(1);
+            return;
+        }
+
+        if (args.length > 0 && "--serve".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : ServerMode.DEFAULT_PORT;
+            int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int queue = args.length > 3 ? Integer.parseInt(args[3]) : workers * 4;
+            ServerMode.run(port, workers, queue);
+            return;
+        }
+
+        if (args.length > 0 && "--client".equals(args[0])) {
+            if (!ServerMode.submit(Arrays.copyOfRange(args, 1, args.length))) System.exit(1);
+            return;
+        }
+
+        if (args.length > 0 && "--watch".equals(args[0])) {
+            WatchMode.run(new File(args.length > 1 ? args[1] : "."));
+            return;
+        }
+
+        generate(new File("."));
+    }
+
+    // === Single Employee Run ===
+    // Reads <dir>/input.txt and the daily logs in <dir>, writes the worksheet and All_Jiras.txt back into <dir>.
+    static File generate(File dir) throws IOException {
+        return generate(dir, new RunMetrics(dir.getCanonicalFile().getName()));
+    }
+
+    // Every phase is timed into metrics; see RunMetrics for the phase and counter names.
+    static File generate(File dir, RunMetrics metrics) throws IOException {
+        return generate(dir, metrics, new Properties());
+    }
+
+    // overrides replace input.txt settings for this run only (server jobs); a month or quarter replaces both
+    static File generate(File dir, RunMetrics metrics, Properties overrides) throws IOException {
+        long runStart = System.nanoTime();
+        long start = runStart;
+        Properties props = loadInputFile(dir);
+        if (overrides.containsKey("month") || overrides.containsKey("quarter")) {
+            props.remove("month");
+            props.remove("quarter");
+        }
+        props.putAll(overrides);
+        List<Integer> months = parseMonths(props);
+        int year = Integer.parseInt(props.getProperty("year", String.valueOf(LocalDate.now().getYear())).trim());
+        WorkCalendar calendar = WorkCalendar.forProperties(dir, props);
+        metrics.time("input", start);
+
+        // === Single ingestion pass feeding every renderer and the Jira list ===
+        start = System.nanoTime();
+        Map<String, String> logSources = WorkbookUpdater.logSources(dir, props, months, year, calendar);
+        TaskCollector taskCollector = new TaskCollector();
+        JiraCollector jiraCollector = new JiraCollector();
+        LogIngestor ingestor = newIngestor(dir, props);
+        ingestLogs(ingestor, dir, props, months, year, calendar, taskCollector, jiraCollector);
+        ingestor.reportTo(metrics);
+        metrics.time("ingest", start);
+
+        start = System.nanoTime();
+        ReportData data = new ReportData(props, year, buildModels(months, year, calendar,
+                taskCollector.getDateTasks(), taskCollector.getOverflow()),
+                jiraCollector.getTickets(), jiraCollector.getTicketsByLog(), baseName(months, year), metrics, logSources);
+        metrics.time("model", start);
+
+        File output = null;
+        for (Renderer renderer : Renderer.fromProperties(props)) {
+            start = System.nanoTime();
+            File written = renderer.render(data, dir);
+            metrics.time("render." + renderer.name(), start);
+            metrics.add("output_bytes", written.length());
+            if (output == null) output = written;
+            System.out.println("Abhishek generated A Worksheet: " + written.getPath());
+        }
 
-        Workbook workbook = createWorkbook(monthNum, year,props);
-        String fileName = "Monthly WorkSheet-" + Month.of(monthNum).name().toLowerCase() + "_" + year + ".xlsx";
-        saveWorkbook(workbook, fileName);
+        start = System.nanoTime();
+        JiraIndex jiraIndex = JiraIndex.load(dir);
+        BiPredicate<String, LocalDate> scope = ingestedScope(props, months, year);
+        jiraIndex.update(jiraCollector.getTicketsByLog(), logFilePattern(props), scope);
+        jiraIndex.save();
+        Set<String> tickets = jiraIndex.tickets(scope);
+        writeJiras(dir, tickets);
+        metrics.time("jiras", start);
+        metrics.add("unique_tickets", tickets.size());
+        metrics.add("jira_index_records", jiraIndex.getAppended());
+        metrics.time("total", runStart);
+
+        metrics.log();
+        if (!"off".equalsIgnoreCase(props.getProperty("metrics", "on").trim())) metrics.write(dir);
+        return output;
+    }
+
+    // === Month Selection ===
+    // month=8 (single), month=1..12 (range) or month=Q3 / quarter=3 (quarter), all within "year".
+    static List<Integer> parseMonths(Properties props) {
+        String quarter = props.getProperty("quarter", "").trim();
+        String month = props.getProperty("month", "1").trim();
+        if (quarter.isEmpty() && month.toUpperCase().startsWith("Q")) quarter = month;
+
+        int first;
+        int last;
+        if (!quarter.isEmpty()) {
+            int q = Integer.parseInt(quarter.toUpperCase().replace("Q", ""));
+            if (q < 1 || q > 4) throw new IllegalArgumentException("Invalid quarter: " + quarter);
+            first = (q - 1) * 3 + 1;
+            last = first + 2;
+        } else if (month.contains("..")) {
+            first = Integer.parseInt(month.substring(0, month.indexOf("..")).trim());
+            last = Integer.parseInt(month.substring(month.indexOf("..") + 2).trim());
+        } else {
+            first = last = Integer.parseInt(month);
+        }
+        Month.of(first);
+        Month.of(last); // validates 1..12
+        if (last < first) throw new IllegalArgumentException("Invalid month range: " + month);
+
+        List<Integer> months = new ArrayList<>();
+        for (int m = first; m <= last; m++) months.add(m);
+        return months;
+    }
+
+    static String outputFileName(List<Integer> months, int year) {
+        return baseName(months, year) + ".xlsx";
+    }
+
+    static String outputFileName(int monthNum, int year) {
+        return outputFileName(Collections.singletonList(monthNum), year);
+    }
+
+    // Shared by all renderers; each adds its own extension
+    static String baseName(List<Integer> months, int year) {
+        String first = Month.of(months.get(0)).name().toLowerCase();
+        if (months.size() == 1) return "Monthly WorkSheet-" + first + "_" + year;
+        String last = Month.of(months.get(months.size() - 1)).name().toLowerCase();
+        return "Monthly WorkSheet-" + first + "-" + last + "_" + year;
+    }
+
+    // === Log Ingestion ===
+    // logGlob wins when set; otherwise "month" opens only the month's expected files and "all" reads every .txt.
+    // Parsed logs are served from <dir>/.worksheet-parse-cache.bin unless parseCache=off.
+    static void ingestLogs(File dir, Properties props, List<Integer> months, int year, WorkCalendar calendar,
+                           LogSink... sinks) throws IOException {
+        ingestLogs(newIngestor(dir, props), dir, props, months, year, calendar, sinks);
+    }
 
-        System.out.println("Abhishek generated A Worksheet: " + fileName);
+    static void ingestLogs(LogIngestor ingestor, File dir, Properties props, List<Integer> months, int year,
+                           WorkCalendar calendar, LogSink... sinks) throws IOException {
+        String glob = props.getProperty("logGlob", "").trim();
+        String scope = props.getProperty("ingestScope", SCOPE_MONTH).trim().toLowerCase();
 
-        // === Trigger Jira Extraction ===
-        extractAndWriteJiras(new File("."));
+        if (!glob.isEmpty()) {
+            ingestor.ingestGlob(dir, glob, sinks);
+        } else if (SCOPE_ALL.equals(scope)) {
+            ingestor.ingest(dir, sinks);
+        } else {
+            List<String> missing = new ArrayList<>();
+            for (int monthNum : months) {
+                missing.addAll(ingestor.ingestMonth(dir, monthNum, year, logFilePattern(props), calendar, sinks));
+            }
+            if (!missing.isEmpty()) {
+                System.out.println("Missing " + missing.size() + " expected log file(s) in " + dir.getPath() + ": "
+                        + String.join(", ", missing));
+            }
+        }
+        saveParseCache(ingestor);
+    }
+
+    // The index entries one ingestion covers (file key, date): an entry in scope that was not ingested is stale.
+    // File keys are lower-cased file names, so a glob is matched against them lower-cased as well.
+    static BiPredicate<String, LocalDate> ingestedScope(Properties props, List<Integer> months, int year) {
+        String glob = props.getProperty("logGlob", "").trim();
+        if (!glob.isEmpty()) {
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob.toLowerCase(Locale.ROOT));
+            return (fileKey, date) -> matcher.matches(Paths.get(fileKey + ".txt"));
+        }
+        if (SCOPE_ALL.equals(props.getProperty("ingestScope", SCOPE_MONTH).trim().toLowerCase())) {
+            return (fileKey, date) -> true;
+        }
+        return (fileKey, date) -> date != null && date.getYear() == year && months.contains(date.getMonthValue());
     }
 
+    static LogIngestor newIngestor(File dir, Properties props) {
+        JiraMatcher jiraMatcher = JiraMatcher.fromProperties(props);
+        int maxDayChars = LogIngestor.maxDayChars(props);
+        ParseCache cache = null;
+        if (!"off".equalsIgnoreCase(props.getProperty("parseCache", "on").trim())) {
+            boolean hashContent = Boolean.parseBoolean(props.getProperty("parseCacheHash", "false").trim());
+            cache = ParseCache.load(dir, jiraMatcher.signature() + ";maxDayChars=" + maxDayChars, hashContent);
+        }
+        return new LogIngestor(jiraMatcher, cache, maxDayChars);
+    }
 
+    static void saveParseCache(LogIngestor ingestor) throws IOException {
+        ParseCache cache = ingestor.getCache();
+        if (cache != null) {
+            cache.save();
+            System.out.println("Parse cache: " + cache.getHits() + " hit(s), " + cache.getMisses() + " miss(es)");
+        }
+    }
 
+    static String logFilePattern(Properties props) {
+        return props.getProperty("logFilePattern", DEFAULT_LOG_FILE_PATTERN).trim();
+    }
 
     // === Workbook Creator ===
-    private static Workbook createWorkbook(int monthNum, int year, Properties props) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet(String.valueOf(Month.of(monthNum)) + year);
-
-        // Styles
-        CellStyle headerStyle = createRGBStyle(workbook, HEADER_COLOR, true, HorizontalAlignment.CENTER, "Book Antiqua");
-        CellStyle subHeaderStyle = createRGBStyle(workbook, SUB_HEADER_COLOR, true, HorizontalAlignment.CENTER, "Calibri");
-        CellStyle labelStyle = createRGBStyle(workbook, LABEL_COLOR, true, HorizontalAlignment.LEFT, "Calibri");
-        CellStyle weekendStyle = createRGBStyle(workbook, WEEKEND_COLOR, false, HorizontalAlignment.LEFT, "Calibri");
-        CellStyle weekendTaskStyle = createRGBStyle(workbook, WEEKEND_COLOR, false, HorizontalAlignment.CENTER, "Calibri");
-        CellStyle dateBorderStyle = createBorderedStyle(workbook, NORMAL_COLOR, true, HorizontalAlignment.LEFT, "Calibri");
-        CellStyle taskBorderStyle = createBorderedStyle(workbook, NORMAL_COLOR, false, HorizontalAlignment.LEFT, "Calibri");
+    static Workbook createWorkbook(int monthNum, int year, WorkCalendar calendar, Properties props,
+                                   Map<String, List<String>> dateTasks) {
+        return createWorkbook(monthNum, year, calendar, props, dateTasks, Collections.<String, Long>emptyMap());
+    }
+
+    static Workbook createWorkbook(int monthNum, int year, WorkCalendar calendar, Properties props,
+                                   Map<String, List<String>> dateTasks, Map<String, Long> overflow) {
+        return createWorkbook(Collections.singletonList(MonthModel.build(monthNum, year, calendar, dateTasks, overflow)),
+                year, props);
+    }
+
+    // === Month Models ===
+    // Built in parallel for ranges (quarter / year); models are plain data, POI is not touched here.
+    static List<MonthModel> buildModels(List<Integer> months, int year, WorkCalendar calendar,
+                                        Map<String, List<String>> dateTasks, Map<String, Long> overflow) {
+        return (months.size() > 1 ? months.parallelStream() : months.stream())
+                .map(monthNum -> MonthModel.build(monthNum, year, calendar, dateTasks, overflow))
+                .collect(Collectors.toList());
+    }
+
+    // One month: its sheet only. Range: a summary sheet first, then one sheet per month.
+    // POI sheet assembly stays on this thread; all sheets share one style table.
+    static Workbook createWorkbook(List<MonthModel> models, int year, Properties props) {
+        return createWorkbook(models, year, props, new RunMetrics("workbook"));
+    }
+
+    static Workbook createWorkbook(List<MonthModel> models, int year, Properties props, RunMetrics metrics) {
+        long start = System.nanoTime();
+        Workbook workbook = newWorkbook(props);
+        // Styles (shared fonts, no duplicate styles)
+        StyleRegistry styles = new StyleRegistry(workbook);
+        long cells = 0;
+        if (models.size() > 1) cells += addSummarySheet(workbook, styles, models, year);
+        for (MonthModel model : models) {
+            cells += addMonthSheet(workbook, styles, model, props, metrics);
+        }
+        metrics.time("excel.layout", start);
+        metrics.addNanos("excel.styles", styles.getCreationNanos());
+        metrics.add("styles_created", styles.getStyleCount());
+        metrics.add("fonts_created", styles.getFontCount());
+        metrics.add("cells_written", cells);
+        return workbook;
+    }
+
+    // === One Month Sheet ===
+    // Fixed structure (titles, merged regions, date keys, week-off pattern, their widths) comes from the cached
+    // MonthSkeleton; only the employee header values and the task cells are measured per workbook.
+    // @return cells written
+    private static long addMonthSheet(Workbook workbook, StyleRegistry styles, MonthModel model, Properties props,
+                                      RunMetrics metrics) {
+        MonthSkeleton skeleton = model.skeleton;
+        Sheet sheet = workbook.createSheet(String.valueOf(Month.of(model.monthNum)) + model.year);
+        // Widths of the auto-sized columns 0..6, measured as cells are written (also works after SXSSF flushes)
+        ColumnWidthEstimator widths = skeleton.newWidthEstimator();
 
         // Sections
-        addTitleRows(sheet, monthNum, year, headerStyle, subHeaderStyle);
-        addEmployeeInfo(sheet, labelStyle,props);
-        addTableHeader(sheet, headerStyle);
+        skeleton.addMergedRegions(sheet);
+        long cells = addTitleRows(sheet, skeleton, styles.get(HEADER_STYLE), styles.get(SUB_HEADER_STYLE));
+        cells += addEmployeeInfo(sheet, styles.get(LABEL_STYLE), props, widths);
+        cells += addTableHeader(sheet, styles.get(HEADER_STYLE));
 
-        Map<String, List<String>> dateTasks = loadTasksFromTxt();
-        fillDatesAndTasks(sheet, monthNum, year, dateTasks, dateBorderStyle, taskBorderStyle, weekendStyle, weekendTaskStyle);
+        cells += fillDatesAndTasks(sheet, model, styles);
 
         // Auto-size
-        for (int i = 0; i <= 6; i++) sheet.autoSizeColumn(i);
+        long start = System.nanoTime();
+        widths.apply(sheet);
+        metrics.time("excel.widths", start);
+        return cells;
+    }
 
-        return workbook;
+    // === Summary Sheet ===
+    // @return cells written
+    private static long addSummarySheet(Workbook workbook, StyleRegistry styles, List<MonthModel> models, int year) {
+        Sheet sheet = workbook.createSheet("Summary " + year);
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(SUMMARY_COLUMNS.length);
+        CellStyle headerStyle = styles.get(HEADER_STYLE);
+        CellStyle labelStyle = styles.get(LABEL_STYLE);
+        CellStyle valueStyle = styles.get(TASK_BORDER_STYLE);
+
+        Row titleRow = sheet.createRow(0);
+        Cell titleCell = titleRow.createCell(0);
+        titleCell.setCellValue("Performance Summary - " + Month.of(models.get(0).monthNum).name() + " to "
+                + Month.of(models.get(models.size() - 1).monthNum).name() + " " + year);
+        titleCell.setCellStyle(headerStyle);
+        sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, SUMMARY_COLUMNS.length - 1));
+
+        Row headerRow = sheet.createRow(2);
+        for (int col = 0; col < SUMMARY_COLUMNS.length; col++) {
+            Cell cell = headerRow.createCell(col);
+            cell.setCellValue(SUMMARY_COLUMNS[col]);
+            cell.setCellStyle(headerStyle);
+            widths.record(col, SUMMARY_COLUMNS[col], HEADER_STYLE);
+        }
+
+        int rowNum = 3;
+        int[] totals = new int[SUMMARY_COLUMNS.length];
+        for (MonthModel model : models) {
+            int[] counts = {0, model.days.size(), model.getWorkingDays(), model.getWorkedDays(), model.getOffDays()};
+            addSummaryRow(sheet.createRow(rowNum++), Month.of(model.monthNum).name(), counts, labelStyle, valueStyle, widths);
+            for (int col = 1; col < counts.length; col++) totals[col] += counts[col];
+        }
+        addSummaryRow(sheet.createRow(rowNum), "TOTAL", totals, headerStyle, headerStyle, widths);
+
+        widths.apply(sheet);
+        // Title, header row, one row per month and the total row
+        return 1 + (long) SUMMARY_COLUMNS.length * (models.size() + 2);
+    }
+
+    private static void addSummaryRow(Row row, String label, int[] counts, CellStyle labelStyle, CellStyle valueStyle,
+                                      ColumnWidthEstimator widths) {
+        Cell labelCell = row.createCell(0);
+        labelCell.setCellValue(label);
+        labelCell.setCellStyle(labelStyle);
+        widths.record(0, label, LABEL_STYLE);
+        for (int col = 1; col < counts.length; col++) {
+            Cell cell = row.createCell(col);
+            cell.setCellValue(counts[col]);
+            cell.setCellStyle(valueStyle);
+        }
+    }
+
+    // === Table Sheet ===
+    // Title, header row and one row per entry in the summary sheet's styles (used by the org rollup).
+    // Numbers become numeric cells; a last row labelled "TOTAL" gets the header style.
+    // @return cells written
+    static long addTableSheet(Workbook workbook, StyleRegistry styles, String name, String title, String[] columns,
+                              List<Object[]> rows) {
+        Sheet sheet = workbook.createSheet(name);
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(columns.length);
+        CellStyle headerStyle = styles.get(HEADER_STYLE);
+
+        Cell titleCell = sheet.createRow(0).createCell(0);
+        titleCell.setCellValue(title);
+        titleCell.setCellStyle(headerStyle);
+        if (columns.length > 1) sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, columns.length - 1));
+
+        Row headerRow = sheet.createRow(2);
+        for (int col = 0; col < columns.length; col++) {
+            Cell cell = headerRow.createCell(col);
+            cell.setCellValue(columns[col]);
+            cell.setCellStyle(headerStyle);
+            widths.record(col, columns[col], HEADER_STYLE);
+        }
+
+        int rowNum = 3;
+        for (Object[] values : rows) {
+            boolean total = "TOTAL".equals(values[0]);
+            Row row = sheet.createRow(rowNum++);
+            for (int col = 0; col < values.length; col++) {
+                StyleSpec spec = total ? HEADER_STYLE : col == 0 ? LABEL_STYLE : TASK_BORDER_STYLE;
+                Cell cell = row.createCell(col);
+                if (values[col] instanceof Number) {
+                    cell.setCellValue(((Number) values[col]).doubleValue());
+                } else {
+                    cell.setCellValue(String.valueOf(values[col]));
+                }
+                cell.setCellStyle(styles.get(spec));
+                widths.record(col, String.valueOf(values[col]), spec);
+            }
+        }
+        widths.apply(sheet);
+        return 1 + (long) columns.length * (rows.size() + 1);
+    }
+
+    // === Workbook Factory ===
+    // "memory" keeps the whole sheet as an XSSFWorkbook until save.
+    // "streaming" keeps only the last streamWindow rows on the heap and flushes older ones to a temp file,
+    // so memory stays bounded however many rows and how much task text fillDatesAndTasks produces.
+    // Merged regions and cell styles live in the workbook/sheet parts, so the layout is identical in both modes.
+    static Workbook newWorkbook(Properties props) {
+        String mode = props.getProperty("outputMode", MODE_MEMORY).trim().toLowerCase();
+        if (MODE_STREAMING.equals(mode)) {
+            int window = Integer.parseInt(props.getProperty("streamWindow", String.valueOf(DEFAULT_STREAM_WINDOW)).trim());
+            SXSSFWorkbook workbook = WorkbookWriter.newStreamingWorkbook(window);
+            workbook.setCompressTempFiles(true);
+            return workbook;
+        }
+        if (!MODE_MEMORY.equals(mode)) {
+            System.err.println("Unknown outputMode '" + mode + "', falling back to " + MODE_MEMORY + ".");
+        }
+        return new XSSFWorkbook();
     }
 
     // === Title Rows ===
-    private static void addTitleRows(Sheet sheet, int monthNum, int year, CellStyle headerStyle, CellStyle subHeaderStyle) {
+    private static int addTitleRows(Sheet sheet, MonthSkeleton skeleton, CellStyle headerStyle, CellStyle subHeaderStyle) {
         Row titleRow = sheet.createRow(0);
         Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Performance Sheet - " + Month.of(monthNum).name() + " " + year);
+        titleCell.setCellValue(skeleton.title);
         titleCell.setCellStyle(headerStyle);
-        sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 9));
 
         Row subtitleRow = sheet.createRow(1);
         Cell subTitleCell = subtitleRow.createCell(0);
-        subTitleCell.setCellValue("Monthly Worksheet - " + Month.of(monthNum).name() + " " + year);
+        subTitleCell.setCellValue(skeleton.subtitle);
         subTitleCell.setCellStyle(subHeaderStyle);
-        sheet.addMergedRegion(new CellRangeAddress(1, 1, 0, 9));
+        return 2;
     }
 
     // === Employee Info (Dynamic from input.txt instead of config.properties) ===
-    private static void addEmployeeInfo(Sheet sheet, CellStyle labelStyle, Properties props) {
+    private static int addEmployeeInfo(Sheet sheet, CellStyle labelStyle, Properties props, ColumnWidthEstimator widths) {
 
         String employeeName = props.getProperty("name", "");
         String projectName = props.getProperty("projectName", "");
@@ -111,146 +510,115 @@ public class MonthExcelGenerator {
         infoRow2.createCell(3).setCellValue("Employee ID");
         infoRow2.getCell(3).setCellStyle(labelStyle);
         infoRow2.createCell(4).setCellValue(employeeId);
+
+        // Labels are part of the skeleton widths (recordFixedWidths)
+        widths.record(1, employeeName, null);
+        widths.record(1, managerName, null);
+        widths.record(4, projectName, null);
+        widths.record(4, employeeId, null);
+        return 8;
     }
 
 
     // === Table Header ===
-    private static void addTableHeader(Sheet sheet, CellStyle headerStyle) {
-        Row headerRow = sheet.createRow(6);
+    private static int addTableHeader(Sheet sheet, CellStyle headerStyle) {
+        Row headerRow = sheet.createRow(FIRST_DATE_ROW - 1);
         headerRow.createCell(0).setCellValue("Date");
         headerRow.getCell(0).setCellStyle(headerStyle);
         headerRow.createCell(1).setCellValue("Task");
         headerRow.getCell(1).setCellStyle(headerStyle);
-        sheet.addMergedRegion(new CellRangeAddress(6, 6, 1, 9));
+        return 2;
     }
 
     // === Fill Dates & Tasks ===
-    private static void fillDatesAndTasks(Sheet sheet, int monthNum, int year,
-                                          Map<String, List<String>> dateTasks,
-                                          CellStyle dateBorderStyle, CellStyle taskBorderStyle,
-                                          CellStyle weekendStyle, CellStyle weekendTaskStyle) {
-        LocalDate startDate = LocalDate.of(year, monthNum, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        DateTimeFormatter fileDateFormatter = DateTimeFormatter.ofPattern("MMM_dd_yyyy", Locale.ENGLISH);
-
-        int rowNum = 7;
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+    // Merged regions are already on the sheet (MonthSkeleton); this writes the cells only.
+    private static long fillDatesAndTasks(Sheet sheet, MonthModel model, StyleRegistry styles) {
+        CellStyle dateBorderStyle = styles.get(DATE_BORDER_STYLE);
+        CellStyle taskBorderStyle = styles.get(TASK_BORDER_STYLE);
+        CellStyle weekendStyle = styles.get(WEEKEND_STYLE);
+        CellStyle weekendTaskStyle = styles.get(WEEKEND_TASK_STYLE);
+
+        int rowNum = FIRST_DATE_ROW;
+        for (MonthModel.Day day : model.days) {
             Row row = sheet.createRow(rowNum++);
-            String dateKey = date.format(fileDateFormatter).toLowerCase();
 
             // Date cell
             Cell dateCell = row.createCell(0);
-            dateCell.setCellValue(dateKey);
-            dateCell.setCellStyle(dateBorderStyle);
-
-            // Task merged cells
-            sheet.addMergedRegion(new CellRangeAddress(row.getRowNum(), row.getRowNum(), 1, 9));
-            for (int col = 1; col <= 9; col++) {
-                Cell taskCell = row.createCell(col);
-                taskCell.setCellStyle(taskBorderStyle);
-
-                if (col == 1) {
-                    boolean isSunday = date.getDayOfWeek() == DayOfWeek.SUNDAY;
-                    boolean isSecondSat = date.getDayOfWeek() == DayOfWeek.SATURDAY && ((date.getDayOfMonth() - 1) / 7 + 1) == 2;
-                    boolean isFourthSat = date.getDayOfWeek() == DayOfWeek.SATURDAY && ((date.getDayOfMonth() - 1) / 7 + 1) == 4;
-
-                    if (isSunday || isSecondSat || isFourthSat) {
-                        taskCell.setCellValue("Week Off");
-                        taskCell.setCellStyle(weekendTaskStyle);
-                        dateCell.setCellStyle(weekendStyle);
-                    } else {
-                        List<String> tasks = dateTasks.getOrDefault(dateKey, new ArrayList<>());
-                        taskCell.setCellValue(tasks.isEmpty() ? "" : String.join("\n", tasks));
-                    }
-                }
+            dateCell.setCellValue(day.dateKey);
+            dateCell.setCellStyle(day.off ? weekendStyle : dateBorderStyle);
+
+            // Task text in the first cell of the merged block, bordered companions 2..9
+            Cell taskCell = row.createCell(1);
+            taskCell.setCellValue(day.taskText);
+            taskCell.setCellStyle(day.off ? weekendTaskStyle : taskBorderStyle);
+            if (day.overflow != null) taskCell.setHyperlink(overflowLink(sheet, day.overflow));
+            for (int col = 2; col <= MonthSkeleton.LAST_TASK_COLUMN; col++) {
+                row.createCell(col).setCellStyle(taskBorderStyle);
             }
         }
+        return (long) model.days.size() * (MonthSkeleton.LAST_TASK_COLUMN + 1);
+    }
+
+    // === Skeleton Widths ===
+    // Texts that are the same in every workbook; measured once per MonthSkeleton.
+    static void recordFixedWidths(ColumnWidthEstimator widths) {
+        widths.record(0, "Employee Name", LABEL_STYLE);
+        widths.record(0, "Manager Name", LABEL_STYLE);
+        widths.record(3, "Project Name", LABEL_STYLE);
+        widths.record(3, "Employee ID", LABEL_STYLE);
+        widths.record(0, "Date", HEADER_STYLE);
+    }
+
+    static void recordDateWidth(ColumnWidthEstimator widths, String dateKey, boolean off) {
+        widths.record(0, dateKey, off ? WEEKEND_STYLE : DATE_BORDER_STYLE);
+    }
+
+    // === Update One Day ===
+    // Rewrites the task cell of an already built sheet, using the same row mapping as fillDatesAndTasks.
+    static void updateTaskRow(Sheet sheet, WorkCalendar calendar, LocalDate date, List<String> tasks,
+                              Long overflowChars) {
+        if (calendar.isOff(date)) return;
+        Row row = sheet.getRow(FIRST_DATE_ROW + date.getDayOfMonth() - 1);
+        String dateKey = date.format(LogIngestor.FILE_KEY_FORMAT).toLowerCase();
+        Cell taskCell = row.getCell(1);
+        taskCell.setCellValue(MonthModel.taskText(MonthModel.withOverflowNote(dateKey, tasks, overflowChars)));
+        taskCell.removeHyperlink();
+        if (overflowChars != null) taskCell.setHyperlink(overflowLink(sheet, LogIngestor.overflowLink(dateKey)));
+    }
+
+    // The overflow file of a day over the size budget, relative to the worksheet
+    private static Hyperlink overflowLink(Sheet sheet, String path) {
+        Hyperlink link = sheet.getWorkbook().getCreationHelper().createHyperlink(HyperlinkType.FILE);
+        link.setAddress(path);
+        return link;
     }
 
     // === Save Workbook ===
-    private static void saveWorkbook(Workbook workbook, String fileName) throws IOException {
-        try (FileOutputStream fos = new FileOutputStream(fileName)) {
-            workbook.write(fos);
+    static void saveWorkbook(Workbook workbook, File output) throws IOException {
+        saveWorkbook(workbook, output, WorkbookWriter.DEFAULT);
+    }
+
+    // Compression, buffering and the atomic rename are up to the writer (compressionLevel / compressionThreads)
+    static void saveWorkbook(Workbook workbook, File output, WorkbookWriter writer) throws IOException {
+        try {
+            writer.write(workbook, output);
+        } finally {
+            if (workbook instanceof SXSSFWorkbook) {
+                // Remove the temp files holding the flushed rows
+                ((SXSSFWorkbook) workbook).dispose();
+            }
         }
         workbook.close();
     }
 
     // === Styles ===
-    private static CellStyle createRGBStyle(Workbook wb, short[] rgb, boolean bold, HorizontalAlignment align, String fontName) {
-        CellStyle style = wb.createCellStyle();
-        Font font = wb.createFont();
-        font.setBold(bold);
-        font.setFontName(fontName);
-        style.setFont(font);
-        ((XSSFCellStyle) style).setFillForegroundColor(new XSSFColor(new java.awt.Color(rgb[0], rgb[1], rgb[2]), null));
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setAlignment(align);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setWrapText(true);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private static CellStyle createBorderedStyle(Workbook wb, short[] rgb, boolean bold, HorizontalAlignment align, String fontName) {
-        return createRGBStyle(wb, rgb, bold, align, fontName);
-    }
-
-    // === Load Tasks from TXT ===
-    private static Map<String, List<String>> loadTasksFromTxt() throws IOException {
-        Map<String, List<String>> dateTasks = new HashMap<>();
-        File folder = new File(".");
-        File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(".txt"));
-
-        if (files != null) {
-            for (File file : files) {
-                String fileName = file.getName().replace(".txt", "").toLowerCase();
-                List<String> lines = Files.readAllLines(file.toPath());
-                lines.removeIf(s -> s == null || s.trim().isEmpty());
-                dateTasks.computeIfAbsent(fileName, k -> new ArrayList<>()).addAll(lines);
-            }
-        }
-        return dateTasks;
-    }
-
-    // === Extract Jira Tickets ===
-    private static void extractAndWriteJiras(File folder) throws IOException {
-        File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(".txt"));
-        if (files == null) return;
-
-        // Allowed Jira project keys
-        Set<String> allowedProjects = new HashSet<>();
-        allowedProjects.add("HDAG");
-        allowedProjects.add("HCAG");
-        allowedProjects.add("HCCUG");
-        allowedProjects.add("HDCUG");
-        allowedProjects.add("APIGW");
-        allowedProjects.add("ESB");
-        allowedProjects.add("KAFKA");
-        allowedProjects.add("OHAB");
-
-        // Regex: jira + space + (PROJECT DIGITS)
-        Pattern jiraPattern = Pattern.compile("(?i)\\bjira\\s+([a-zA-Z]+)[- ]?(\\d+)\\b");
-        Set<String> jiraTickets = new HashSet<>();
-
-        for (File file : files) {
-            List<String> lines = Files.readAllLines(file.toPath());
-            for (String line : lines) {
-                Matcher matcher = jiraPattern.matcher(line);
-                while (matcher.find()) {
-                    String project = matcher.group(1).toUpperCase();  // e.g. "hdag" -> "HDAG"
-                    String number = matcher.group(2);                 // digits part
-
-                    if (allowedProjects.contains(project)) {
-                        String ticket = project + "-" + number;       // normalize: PROJECT-123
-                        jiraTickets.add(ticket);
-                    }
-                }
-            }
-        }
+    private static StyleSpec rgbStyle(int rgb, boolean bold, HorizontalAlignment align, String fontName) {
+        return new StyleSpec(rgb, fontName, bold, XSSFFont.DEFAULT_FONT_SIZE, StyleSpec.DEFAULT_FONT_COLOR, align, true, true);
+    }
 
+    // === Write Jira Tickets ===
+    // Written in the order given; callers pass the sorted tickets of the Jira index
+    static void writeJiras(File folder, Set<String> jiraTickets) throws IOException {
         // Write all unique Jiras to a file
         File output = new File(folder, "All_Jiras.txt");
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(output))) {
@@ -262,9 +630,9 @@ public class MonthExcelGenerator {
 
         System.out.println("Extracted " + jiraTickets.size() + " Jira tickets into " + output.getAbsolutePath());
     }
-    private static Properties loadInputFile() {
+    static Properties loadInputFile(File dir) {
         Properties props = new Properties();
-        File inputFile = new File("input.txt");
+        File inputFile = new File(dir, "input.txt");
         if (inputFile.exists()) {
             try (FileInputStream fis = new FileInputStream(inputFile)) {
                 props.load(fis);
@@ -0,0 +1,114 @@
+package com.excel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Content of one month's sheet, computed without touching POI: one entry per day with its date key,
+ * off-day flag (week-off or holiday) and the task text that goes into the merged task cell.
+ * A day over the size budget ends with a note naming its overflow file, which the task cell links to.
+ * Building models is side-effect free, so several months can be built in parallel and rendered afterwards.
+ */
+public class MonthModel {
+
+    /** One row of the date/task table. */
+    public static class Day {
+        final LocalDate date;
+        final String dateKey;
+        final boolean off;
+        final boolean holiday;
+        // Logged lines as ingested (also on off days); taskText is what the sheet shows
+        final List<String> tasks;
+        final String taskText;
+        // Link to the overflow file (relative to the worksheet) for working days over the budget, else null
+        final String overflow;
+
+        Day(LocalDate date, String dateKey, boolean off, boolean holiday, List<String> tasks, String taskText,
+            String overflow) {
+            this.date = date;
+            this.dateKey = dateKey;
+            this.off = off;
+            this.holiday = holiday;
+            this.tasks = tasks;
+            this.taskText = taskText;
+            this.overflow = overflow;
+        }
+
+        /** "work", "off" or "holiday" (machine-readable exports). */
+        String status() {
+            return holiday ? "holiday" : off ? "off" : "work";
+        }
+    }
+
+    final int monthNum;
+    final int year;
+    final MonthSkeleton skeleton;
+    final List<Day> days;
+
+    private MonthModel(MonthSkeleton skeleton, List<Day> days) {
+        this.monthNum = skeleton.monthNum;
+        this.year = skeleton.year;
+        this.skeleton = skeleton;
+        this.days = Collections.unmodifiableList(days);
+    }
+
+    public static MonthModel build(int monthNum, int year, WorkCalendar calendar, Map<String, List<String>> dateTasks) {
+        return build(monthNum, year, calendar, dateTasks, Collections.<String, Long>emptyMap());
+    }
+
+    /** @param overflow date key -> characters in the day's overflow file, see {@link TaskCollector#getOverflow()} */
+    public static MonthModel build(int monthNum, int year, WorkCalendar calendar, Map<String, List<String>> dateTasks,
+                                   Map<String, Long> overflow) {
+        // Dates, keys and off days come from the shared skeleton; only the task text is per employee
+        MonthSkeleton skeleton = MonthSkeleton.of(monthNum, year, calendar);
+        List<Day> days = new ArrayList<>(skeleton.getDayCount());
+        for (int i = 0; i < skeleton.getDayCount(); i++) {
+            String dateKey = skeleton.dateKeys[i];
+            boolean off = skeleton.isOff(i);
+            boolean holiday = skeleton.isHoliday(i);
+            List<String> tasks = dateTasks.get(dateKey);
+            if (tasks == null) tasks = Collections.emptyList();
+            Long overflowChars = overflow.get(dateKey);
+            tasks = withOverflowNote(dateKey, tasks, overflowChars);
+            String text = off ? (holiday ? "Holiday" : "Week Off") : taskText(tasks);
+            String link = off || overflowChars == null ? null : LogIngestor.overflowLink(dateKey);
+            days.add(new Day(skeleton.dates[i], dateKey, off, holiday, tasks, text, link));
+        }
+        return new MonthModel(skeleton, days);
+    }
+
+    static String taskText(List<String> tasks) {
+        return tasks == null || tasks.isEmpty() ? "" : String.join("\n", tasks);
+    }
+
+    /** tasks plus a last line pointing to the overflow file when the day was over the budget. */
+    static List<String> withOverflowNote(String dateKey, List<String> tasks, Long overflowChars) {
+        if (overflowChars == null || overflowChars == 0) return tasks;
+        List<String> noted = new ArrayList<>();
+        if (tasks != null) noted.addAll(tasks);
+        noted.add(String.format(Locale.ENGLISH, "[%,d more characters in %s]", overflowChars,
+                LogIngestor.overflowLink(dateKey)));
+        return noted;
+    }
+
+    // === Summary Counts ===
+    /** Week-off days and public holidays. */
+    public int getOffDays() {
+        return Integer.bitCount(skeleton.offDays);
+    }
+
+    public int getWorkingDays() {
+        return days.size() - getOffDays();
+    }
+
+    /** Working days with at least one logged task. */
+    public int getWorkedDays() {
+        int count = 0;
+        for (Day day : days) if (!day.off && !day.taskText.isEmpty()) count++;
+        return count;
+    }
+}
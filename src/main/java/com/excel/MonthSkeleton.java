@@ -0,0 +1,132 @@
+package com.excel;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * The employee-independent part of a month sheet: title texts, merged regions, date keys, off days and the
+ * column widths those fixed texts need. Built once per (year, month, week-off calendar) and shared by every
+ * workbook generated in this JVM, so a batch run only fills in header values and task cells per employee.
+ * The most recently used CACHE_SIZE skeletons are kept, so a long-running server does not grow without bound.
+ *
+ * Instances are immutable and safe to use from several threads.
+ */
+public class MonthSkeleton {
+
+    // Task text spans columns 1..9 of every table row
+    static final int LAST_TASK_COLUMN = 9;
+
+    // A year of months for a handful of calendars
+    static final int CACHE_SIZE = 64;
+
+    // Access-ordered LRU, guarded by itself
+    private static final Map<String, MonthSkeleton> CACHE = new LinkedHashMap<String, MonthSkeleton>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MonthSkeleton> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    final int monthNum;
+    final int year;
+    final WorkCalendar calendar;
+    final String title;
+    final String subtitle;
+    final LocalDate[] dates;
+    final String[] dateKeys;
+    // WorkCalendar bitmaps: bit d-1 = day d is off / a public holiday
+    final int offDays;
+    final int holidays;
+    // In the order they are added to the sheet; none of them overlap, see addMergedRegions
+    private final List<CellRangeAddress> mergedRegions;
+    private final ColumnWidthEstimator fixedWidths;
+
+    private MonthSkeleton(int monthNum, int year, WorkCalendar calendar) {
+        this.monthNum = monthNum;
+        this.year = year;
+        this.calendar = calendar;
+        this.title = "Performance Sheet - " + Month.of(monthNum).name() + " " + year;
+        this.subtitle = "Monthly Worksheet - " + Month.of(monthNum).name() + " " + year;
+
+        LocalDate startDate = LocalDate.of(year, monthNum, 1);
+        int length = startDate.lengthOfMonth();
+        dates = new LocalDate[length];
+        dateKeys = new String[length];
+        offDays = calendar.offDays(year, monthNum);
+        holidays = calendar.holidays(year, monthNum);
+
+        List<CellRangeAddress> regions = new ArrayList<>(length + 3);
+        regions.add(new CellRangeAddress(0, 0, 0, LAST_TASK_COLUMN));
+        regions.add(new CellRangeAddress(1, 1, 0, LAST_TASK_COLUMN));
+        regions.add(new CellRangeAddress(MonthExcelGenerator.FIRST_DATE_ROW - 1, MonthExcelGenerator.FIRST_DATE_ROW - 1,
+                1, LAST_TASK_COLUMN));
+
+        ColumnWidthEstimator widths = new ColumnWidthEstimator(MonthExcelGenerator.AUTO_SIZED_COLUMNS);
+        MonthExcelGenerator.recordFixedWidths(widths);
+
+        for (int i = 0; i < length; i++) {
+            LocalDate date = startDate.plusDays(i);
+            dates[i] = date;
+            dateKeys[i] = date.format(LogIngestor.FILE_KEY_FORMAT).toLowerCase();
+            int rowNum = MonthExcelGenerator.FIRST_DATE_ROW + i;
+            regions.add(new CellRangeAddress(rowNum, rowNum, 1, LAST_TASK_COLUMN));
+            MonthExcelGenerator.recordDateWidth(widths, dateKeys[i], isOff(i));
+        }
+        this.mergedRegions = Collections.unmodifiableList(regions);
+        this.fixedWidths = widths;
+    }
+
+    public static MonthSkeleton of(int monthNum, int year, WorkCalendar calendar) {
+        Month.of(monthNum); // validates 1..12 before caching
+        String key = year + "-" + monthNum + "/" + calendar.getId();
+        synchronized (CACHE) {
+            MonthSkeleton cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+        // Built outside the lock; if two threads race, the first one stored wins and both use it
+        MonthSkeleton skeleton = new MonthSkeleton(monthNum, year, calendar);
+        synchronized (CACHE) {
+            MonthSkeleton cached = CACHE.putIfAbsent(key, skeleton);
+            return cached != null ? cached : skeleton;
+        }
+    }
+
+    public int getDayCount() {
+        return dateKeys.length;
+    }
+
+    /** @param dayIndex 0-based day of the month */
+    boolean isOff(int dayIndex) {
+        return WorkCalendar.isSet(offDays, dayIndex + 1);
+    }
+
+    boolean isHoliday(int dayIndex) {
+        return WorkCalendar.isSet(holidays, dayIndex + 1);
+    }
+
+    // === Applying ===
+    /**
+     * Adds every merged region of the layout. The regions are known not to overlap each other, so the per-call
+     * overlap scan of addMergedRegion (linear in the regions already on the sheet) is skipped.
+     * Only valid on a sheet that has no merged regions of its own.
+     */
+    void addMergedRegions(Sheet sheet) {
+        for (CellRangeAddress region : mergedRegions) {
+            // XSSF/SXSSF only format the range into the sheet XML, so the shared instances are never modified
+            sheet.addMergedRegionUnsafe(region);
+        }
+    }
+
+    /** A width estimator pre-seeded with the fixed labels, headers and date keys; record only per-employee text. */
+    ColumnWidthEstimator newWidthEstimator() {
+        return new ColumnWidthEstimator(fixedWidths);
+    }
+}
@@ -0,0 +1,113 @@
+package com.excel;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON written straight from the month models (no POI), one object per line:
+ * <pre>
+ * {"type":"day","date":"2025-08-01","dateKey":"aug_01_2025","status":"work","tasks":[...],"jiras":[...]}
+ * ...
+ * {"type":"jiras","employeeId":"...","name":"...","jiras":[...all tickets, sorted...]}
+ * </pre>
+ */
+public class NdjsonRenderer implements Renderer {
+
+    @Override
+    public String name() {
+        return "ndjson";
+    }
+
+    @Override
+    public File render(ReportData data, File dir) throws IOException {
+        File output = new File(dir, data.baseName + ".ndjson");
+        File tmp = new File(output.getPath() + ".tmp");
+        boolean moved = false;
+        try {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(tmp.toPath()),
+                    StandardCharsets.UTF_8), 64 * 1024)) {
+                for (MonthModel month : data.months) {
+                    for (MonthModel.Day day : month.days) {
+                        out.write("{\"type\":\"day\",\"date\":\"");
+                        out.write(day.date.toString());
+                        out.write("\",\"dateKey\":");
+                        writeString(out, day.dateKey);
+                        out.write(",\"status\":\"");
+                        out.write(day.status());
+                        out.write("\",\"tasks\":");
+                        writeArray(out, day.tasks);
+                        out.write(",\"jiras\":");
+                        writeArray(out, data.ticketsOn(day));
+                        out.write("}\n");
+                    }
+                }
+
+                List<String> tickets = new ArrayList<>(data.tickets);
+                Collections.sort(tickets);
+                out.write("{\"type\":\"jiras\",\"employeeId\":");
+                writeString(out, data.props.getProperty("employeeId", "").trim());
+                out.write(",\"name\":");
+                writeString(out, data.props.getProperty("name", "").trim());
+                out.write(",\"jiras\":");
+                writeArray(out, tickets);
+                out.write("}\n");
+            }
+            WorkbookWriter.moveIntoPlace(tmp, output);
+            moved = true;
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+        return output;
+    }
+
+    private static void writeArray(Writer out, Collection<String> values) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (String value : values) {
+            if (!first) out.write(',');
+            writeString(out, value);
+            first = false;
+        }
+        out.write(']');
+    }
+
+    private static void writeString(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
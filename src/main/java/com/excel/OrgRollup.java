@@ -0,0 +1,295 @@
+package com.excel;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Org-wide Jira and effort rollup over a team root laid out as for --batch (one directory per employee with its
+ * input.txt and daily logs).
+ *
+ * Employees are ingested concurrently, each with its own input.txt settings (period, ingestion scope, Jira
+ * projects, parse cache), and merged into shared ConcurrentHashMap / LongAdder accumulators, so workers only ever
+ * contend on a single map bin and never on a common lock. Writes to the root:
+ * - Org_Rollup.xlsx: days worked per input.txt project, tickets and employee-days per Jira project, and every
+ *   ticket with the employees who mentioned it
+ * - Org_Jiras.txt: every ticket, one per line, followed by a tab and the employees who mentioned it
+ * Employees are counted by directory name; their input.txt "name" is only the label shown, suffixed with the
+ * directory when two employees share a name.
+ */
+public class OrgRollup {
+
+    static final String WORKBOOK_FILE = "Org_Rollup.xlsx";
+    static final String JIRAS_FILE = "Org_Jiras.txt";
+
+    private static final String NO_PROJECT = "(none)";
+    private static final String[] PROJECT_COLUMNS = {"Project", "Manager", "Employees", "Days Worked", "Tickets"};
+    private static final String[] JIRA_PROJECT_COLUMNS = {"Jira Project", "Tickets", "Employees", "Employee-Days"};
+    private static final String[] TICKET_COLUMNS = {"Ticket", "Employees", "Employee-Days", "Touched By"};
+
+    // === Accumulators (shared by all workers) ===
+    // Employees are the directory names; directory name -> input.txt name, for display
+    private final ConcurrentHashMap<String, String> employeeNames = new ConcurrentHashMap<>();
+    // Jira ticket -> employees who mentioned it / number of employee-days it was mentioned on
+    private final ConcurrentHashMap<String, Set<String>> ticketEmployees = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> ticketDays = new ConcurrentHashMap<>();
+    // Jira project key -> employee-days with a mention of one of its tickets
+    private final ConcurrentHashMap<String, LongAdder> jiraProjectDays = new ConcurrentHashMap<>();
+    // input.txt projectName -> managers, employees, days worked, tickets mentioned
+    private final ConcurrentHashMap<String, Set<String>> projectManagers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> projectEmployees = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> projectDays = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> projectTickets = new ConcurrentHashMap<>();
+
+    // === Per-Employee Outcome ===
+    private static class Result {
+        final String employee;
+        final boolean success;
+        final String detail;
+
+        Result(String employee, boolean success, String detail) {
+            this.employee = employee;
+            this.success = success;
+            this.detail = detail;
+        }
+    }
+
+    /**
+     * Rolls up every employee directory under root and writes the workbook and ticket list.
+     * @return number of employees that could not be read
+     */
+    public static int run(File root, int threads) throws InterruptedException, IOException {
+        File[] employeeDirs = root.listFiles(File::isDirectory);
+        if (employeeDirs == null || employeeDirs.length == 0) {
+            System.err.println("No employee directories found under " + root.getAbsolutePath());
+            return 0;
+        }
+        Arrays.sort(employeeDirs);
+
+        long start = System.nanoTime();
+        OrgRollup rollup = new OrgRollup();
+        int poolSize = Math.max(1, Math.min(threads, employeeDirs.length));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<Result> results = new ArrayList<>();
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (File dir : employeeDirs) {
+                futures.add(executor.submit(rollup.employeeTask(dir)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new Result(employeeDirs[i].getName(), false, String.valueOf(e.getCause())));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        File workbook = rollup.writeWorkbook(root);
+        File jiras = rollup.writeJiras(root);
+        int failures = 0;
+        System.out.println();
+        System.out.println("=== Rollup Summary (" + results.size() + " employees, " + poolSize + " threads, "
+                + (System.nanoTime() - start) / 1_000_000 + " ms) ===");
+        for (Result r : results) {
+            if (!r.success) failures++;
+            System.out.println((r.success ? "[OK]   " : "[FAIL] ") + r.employee + " - " + r.detail);
+        }
+        System.out.println(rollup.ticketEmployees.size() + " tickets across " + rollup.projectEmployees.size()
+                + " project(s): " + workbook.getPath() + ", " + jiras.getPath());
+        return failures;
+    }
+
+    // === Single Employee Job ===
+    // Ingests with the employee's own settings, then merges; everything before the merge is thread-local.
+    private Callable<Result> employeeTask(File dir) {
+        return () -> {
+            try {
+                if (!new File(dir, "input.txt").isFile()) {
+                    return new Result(dir.getName(), false, "missing input.txt");
+                }
+                Properties props = MonthExcelGenerator.loadInputFile(dir);
+                List<Integer> months = MonthExcelGenerator.parseMonths(props);
+                int year = Integer.parseInt(props.getProperty("year", String.valueOf(LocalDate.now().getYear())).trim());
+                WorkCalendar calendar = WorkCalendar.forProperties(dir, props);
+                TaskCollector tasks = new TaskCollector();
+                JiraCollector jiras = new JiraCollector();
+                MonthExcelGenerator.ingestLogs(dir, props, months, year, calendar, tasks, jiras);
+
+                int worked = 0;
+                for (MonthModel model : MonthExcelGenerator.buildModels(months, year, calendar,
+                        tasks.getDateTasks(), tasks.getOverflow())) {
+                    worked += model.getWorkedDays();
+                }
+                String employee = value(props, "name", dir.getName());
+                employeeNames.put(dir.getName(), employee);
+                merge(dir.getName(), value(props, "projectName", NO_PROJECT), value(props, "managerName", ""), worked,
+                        jiras.getTicketsByLog());
+                return new Result(dir.getName(), true, employee + ": " + worked + " day(s) worked, "
+                        + jiras.getTickets().size() + " ticket(s)");
+            } catch (Exception e) {
+                return new Result(dir.getName(), false, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        };
+    }
+
+    private static String value(Properties props, String key, String fallback) {
+        String value = props.getProperty(key, "").trim();
+        return value.isEmpty() ? fallback : value;
+    }
+
+    // === Merge ===
+    private void merge(String employee, String project, String manager, int worked,
+                       Map<String, List<String>> ticketsByLog) {
+        if (!manager.isEmpty()) projectManagers.computeIfAbsent(project, k -> ConcurrentHashMap.newKeySet()).add(manager);
+        projectEmployees.computeIfAbsent(project, k -> ConcurrentHashMap.newKeySet()).add(employee);
+        projectDays.computeIfAbsent(project, k -> new LongAdder()).add(worked);
+        Set<String> projectTicketSet = projectTickets.computeIfAbsent(project, k -> ConcurrentHashMap.newKeySet());
+
+        // A day counts once per ticket and once per Jira project, however often it is mentioned that day
+        Map<String, Integer> days = new TreeMap<>();
+        Map<String, Integer> jiraProjects = new TreeMap<>();
+        Set<String> dayProjects = new TreeSet<>();
+        for (List<String> tickets : ticketsByLog.values()) {
+            dayProjects.clear();
+            for (String ticket : tickets) {
+                days.merge(ticket, 1, Integer::sum);
+                dayProjects.add(jiraProject(ticket));
+            }
+            for (String jiraProject : dayProjects) jiraProjects.merge(jiraProject, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> e : days.entrySet()) {
+            ticketEmployees.computeIfAbsent(e.getKey(), k -> ConcurrentHashMap.newKeySet()).add(employee);
+            ticketDays.computeIfAbsent(e.getKey(), k -> new LongAdder()).add(e.getValue());
+            projectTicketSet.add(e.getKey());
+        }
+        for (Map.Entry<String, Integer> e : jiraProjects.entrySet()) {
+            jiraProjectDays.computeIfAbsent(e.getKey(), k -> new LongAdder()).add(e.getValue());
+        }
+    }
+
+    private static String jiraProject(String ticket) {
+        return ticket.substring(0, ticket.indexOf('-'));
+    }
+
+    // === Output ===
+    // Written after all workers finished, so the accumulators are read in a quiescent state
+    private File writeWorkbook(File root) throws IOException {
+        Map<String, String> labels = labels();
+        List<Object[]> projects = new ArrayList<>();
+        long totalDays = 0;
+        for (String project : new TreeSet<>(projectEmployees.keySet())) {
+            long worked = projectDays.get(project).sum();
+            totalDays += worked;
+            projects.add(new Object[]{project, join(projectManagers.get(project)),
+                    projectEmployees.get(project).size(), worked, projectTickets.get(project).size()});
+        }
+        projects.add(new Object[]{"TOTAL", "", distinct(projectEmployees).size(), totalDays, ticketEmployees.size()});
+
+        Map<String, Set<String>> jiraTickets = new TreeMap<>();
+        Map<String, Set<String>> jiraEmployees = new TreeMap<>();
+        for (Map.Entry<String, Set<String>> e : ticketEmployees.entrySet()) {
+            String jiraProject = jiraProject(e.getKey());
+            jiraTickets.computeIfAbsent(jiraProject, k -> new TreeSet<>()).add(e.getKey());
+            jiraEmployees.computeIfAbsent(jiraProject, k -> new TreeSet<>()).addAll(e.getValue());
+        }
+        List<Object[]> jiraProjectRows = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> e : jiraTickets.entrySet()) {
+            jiraProjectRows.add(new Object[]{e.getKey(), e.getValue().size(), jiraEmployees.get(e.getKey()).size(),
+                    jiraProjectDays.get(e.getKey()).sum()});
+        }
+
+        List<Object[]> tickets = new ArrayList<>();
+        for (String ticket : new TreeSet<>(ticketEmployees.keySet())) {
+            Set<String> employees = ticketEmployees.get(ticket);
+            tickets.add(new Object[]{ticket, employees.size(), ticketDays.get(ticket).sum(), join(employees, labels)});
+        }
+
+        File output = new File(root, WORKBOOK_FILE);
+        try (Workbook workbook = new XSSFWorkbook()) {
+            StyleRegistry styles = new StyleRegistry(workbook);
+            MonthExcelGenerator.addTableSheet(workbook, styles, "Projects", "Org Rollup - Projects",
+                    PROJECT_COLUMNS, projects);
+            MonthExcelGenerator.addTableSheet(workbook, styles, "Jira Projects", "Org Rollup - Jira Projects",
+                    JIRA_PROJECT_COLUMNS, jiraProjectRows);
+            MonthExcelGenerator.addTableSheet(workbook, styles, "Tickets", "Org Rollup - Tickets",
+                    TICKET_COLUMNS, tickets);
+            MonthExcelGenerator.saveWorkbook(workbook, output);
+        }
+        return output;
+    }
+
+    private File writeJiras(File root) throws IOException {
+        // UTF-8 whatever the platform charset, since names may be non-ASCII; temp file + rename like the workbook
+        File output = new File(root, JIRAS_FILE);
+        File tmp = new File(output.getPath() + ".tmp");
+        Map<String, String> labels = labels();
+        boolean moved = false;
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                for (String ticket : new TreeSet<>(ticketEmployees.keySet())) {
+                    writer.write(ticket);
+                    writer.write('\t');
+                    writer.write(join(ticketEmployees.get(ticket), labels));
+                    writer.newLine();
+                }
+            }
+            WorkbookWriter.moveIntoPlace(tmp, output);
+            moved = true;
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+        return output;
+    }
+
+    // Directory name -> input.txt name, or "name (directory)" where several employees share that name
+    private Map<String, String> labels() {
+        Map<String, Integer> uses = new TreeMap<>();
+        for (String name : employeeNames.values()) uses.merge(name, 1, Integer::sum);
+        Map<String, String> labels = new TreeMap<>();
+        for (Map.Entry<String, String> e : employeeNames.entrySet()) {
+            String name = e.getValue();
+            labels.put(e.getKey(), uses.get(name) > 1 && !name.equals(e.getKey()) ? name + " (" + e.getKey() + ")" : name);
+        }
+        return labels;
+    }
+
+    private static Set<String> distinct(Map<String, Set<String>> values) {
+        Set<String> all = new TreeSet<>();
+        for (Set<String> set : values.values()) all.addAll(set);
+        return all;
+    }
+
+    private static String join(Set<String> values) {
+        return values == null ? "" : String.join(", ", new TreeSet<>(values));
+    }
+
+    private static String join(Set<String> employees, Map<String, String> labels) {
+        Set<String> shown = new TreeSet<>();
+        for (String employee : employees) shown.add(labels.get(employee));
+        return String.join(", ", shown);
+    }
+}
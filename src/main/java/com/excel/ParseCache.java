@@ -0,0 +1,253 @@
+package com.excel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk cache of parsed daily logs, stored next to the logs as a small deflated binary file.
+ *
+ * Each entry is keyed by file name and fingerprinted by size + last-modified time (+ an optional CRC32 of the
+ * content), so a re-run only re-parses new or changed logs. On save, entries of logs that no longer exist are
+ * dropped; entries of logs outside the run's scope stay. The whole cache is discarded when it is unreadable,
+ * has another format version, or was built with different Jira matching rules or another day size budget.
+ */
+public class ParseCache {
+
+    public static final String CACHE_FILE_NAME = ".worksheet-parse-cache.bin";
+
+    private static final int MAGIC = 0x57535043; // "WSPC"
+    private static final int VERSION = 2;
+    private static final long NO_HASH = -1L;
+
+    // === Fingerprint of a log file ===
+    public static class Fingerprint {
+        final long size;
+        final long modified;
+        final long hash;
+
+        Fingerprint(long size, long modified, long hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        boolean matches(Fingerprint other) {
+            // A cache written without hashes never satisfies a hashed lookup, and vice versa
+            return size == other.size && modified == other.modified && hash == other.hash;
+        }
+    }
+
+    private static class Entry {
+        final Fingerprint fingerprint;
+        final List<String> lines;
+        final List<String> tickets;
+        final long overflowChars;
+
+        Entry(Fingerprint fingerprint, List<String> lines, List<String> tickets, long overflowChars) {
+            this.fingerprint = fingerprint;
+            this.lines = lines;
+            this.tickets = tickets;
+            this.overflowChars = overflowChars;
+        }
+    }
+
+    private final File cacheFile;
+    private final String signature;
+    private final boolean useContentHash;
+    private final Map<String, Entry> entries = new HashMap<>();
+    // Log names looked up or stored by this run: they exist, so save() need not check them
+    private final Set<String> seen = new HashSet<>();
+    private boolean dirty;
+    private int hits;
+    private int misses;
+
+    private ParseCache(File cacheFile, String signature, boolean useContentHash) {
+        this.cacheFile = cacheFile;
+        this.signature = signature;
+        this.useContentHash = useContentHash;
+    }
+
+    /** Loads the cache of dir, or starts an empty one if there is none or it cannot be trusted. */
+    public static ParseCache load(File dir, String signature, boolean useContentHash) {
+        ParseCache cache = new ParseCache(new File(dir, CACHE_FILE_NAME), signature, useContentHash);
+        if (cache.cacheFile.isFile()) {
+            try {
+                cache.read();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable parse cache " + cache.cacheFile.getPath() + ": " + e);
+                cache.entries.clear();
+                cache.dirty = true;
+            }
+        }
+        return cache;
+    }
+
+    // === Lookup / Store ===
+    /** Taken before the file is read, so a concurrent edit can only make the entry look stale, never fresh. */
+    public Fingerprint fingerprint(File file) throws IOException {
+        long hash = useContentHash ? contentHash(file) : NO_HASH;
+        return new Fingerprint(file.length(), file.lastModified(), hash);
+    }
+
+    /** @return the cached parse of file, or null on a miss */
+    public ParsedLog get(File file, Fingerprint fingerprint, String fileKey) {
+        seen.add(file.getName());
+        Entry entry = entries.get(file.getName());
+        // The overflow file is part of the parse: an entry whose file was removed is stale
+        if (entry != null && entry.fingerprint.matches(fingerprint)
+                && (entry.overflowChars == 0 || LogIngestor.overflowFile(file, fileKey).isFile())) {
+            hits++;
+            return new ParsedLog(fileKey, entry.lines, entry.tickets, entry.overflowChars);
+        }
+        misses++;
+        return null;
+    }
+
+    public void put(File file, Fingerprint fingerprint, ParsedLog log) {
+        seen.add(file.getName());
+        entries.put(file.getName(), new Entry(fingerprint, log.getLines(), log.getTickets(), log.getOverflowChars()));
+        dirty = true;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    // === Persistence ===
+    /**
+     * Drops entries of deleted or renamed logs, then writes the cache if anything changed, via a temp file and
+     * rename so readers never see a partial file.
+     */
+    public void save() throws IOException {
+        File dir = cacheFile.getAbsoluteFile().getParentFile();
+        for (Iterator<String> names = entries.keySet().iterator(); names.hasNext(); ) {
+            String name = names.next();
+            if (!seen.contains(name) && !new File(dir, name).isFile()) {
+                names.remove();
+                dirty = true;
+            }
+        }
+        if (!dirty) return;
+        File tmp = new File(cacheFile.getPath() + ".tmp");
+        boolean moved = false;
+        try {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(new FileOutputStream(tmp), deflater)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, signature);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    writeString(out, e.getKey());
+                    out.writeLong(entry.fingerprint.size);
+                    out.writeLong(entry.fingerprint.modified);
+                    out.writeLong(entry.fingerprint.hash);
+                    writeStrings(out, entry.lines);
+                    writeStrings(out, entry.tickets);
+                    out.writeLong(entry.overflowChars);
+                }
+            } finally {
+                deflater.end();
+            }
+            try {
+                Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+        dirty = false;
+    }
+
+    private void read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new FileInputStream(cacheFile))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !signature.equals(readString(in))) {
+                // Other format or other Jira rules: start over
+                dirty = true;
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = readString(in);
+                Fingerprint fingerprint = new Fingerprint(in.readLong(), in.readLong(), in.readLong());
+                List<String> lines = readStrings(in);
+                List<String> tickets = readStrings(in);
+                entries.put(name, new Entry(fingerprint, lines, tickets, in.readLong()));
+            }
+        } catch (EOFException e) {
+            throw new IOException("truncated cache file", e);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) writeString(out, value);
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add(readString(in));
+        return values;
+    }
+
+    // Length-prefixed UTF-8; DataOutputStream.writeUTF caps at 64 KB, which a pasted log line can exceed
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long contentHash(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+}
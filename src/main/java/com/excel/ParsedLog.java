@@ -0,0 +1,45 @@
+package com.excel;
+
+import java.util.List;
+
+/**
+ * Parsed content of one daily log: its non-blank task lines (in file order)
+ * and the distinct normalized Jira tickets mentioned in it (in first-seen order).
+ * A log over the day's size budget keeps only the lines that fit; the rest is in its overflow file.
+ */
+public class ParsedLog {
+
+    private final String fileKey;
+    private final List<String> lines;
+    private final List<String> tickets;
+    private final long overflowChars;
+
+    public ParsedLog(String fileKey, List<String> lines, List<String> tickets) {
+        this(fileKey, lines, tickets, 0);
+    }
+
+    public ParsedLog(String fileKey, List<String> lines, List<String> tickets, long overflowChars) {
+        this.fileKey = fileKey;
+        this.lines = lines;
+        this.tickets = tickets;
+        this.overflowChars = overflowChars;
+    }
+
+    /** File name without ".txt", lower-cased; for month-scoped ingestion the MMM_dd_yyyy date key. */
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    public List<String> getLines() {
+        return lines;
+    }
+
+    public List<String> getTickets() {
+        return tickets;
+    }
+
+    /** Characters over the day's size budget, written to the log's overflow file; 0 if the day fits. */
+    public long getOverflowChars() {
+        return overflowChars;
+    }
+}
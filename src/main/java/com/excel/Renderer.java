@@ -0,0 +1,45 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * One output format of a run. All renderers selected in input.txt (renderers=excel,csv,ndjson; default excel)
+ * are driven from the same {@link ReportData}, so extra formats cost no extra ingestion.
+ */
+public interface Renderer {
+
+    /** Short name used in renderers= and as the metrics phase "render.<name>". */
+    String name();
+
+    /** Writes this format into dir (temp file + rename) and returns the file written. */
+    File render(ReportData data, File dir) throws IOException;
+
+    static List<Renderer> fromProperties(Properties props) {
+        List<Renderer> renderers = new ArrayList<>();
+        for (String name : props.getProperty("renderers", "excel").split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "":
+                    break;
+                case "excel":
+                case "xlsx":
+                    renderers.add(new ExcelRenderer());
+                    break;
+                case "csv":
+                    renderers.add(new CsvRenderer());
+                    break;
+                case "ndjson":
+                case "json":
+                    renderers.add(new NdjsonRenderer());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown renderer '" + name.trim() + "' (expected excel, csv or ndjson)");
+            }
+        }
+        if (renderers.isEmpty()) throw new IllegalArgumentException("No renderer selected in 'renderers'");
+        return renderers;
+    }
+}
@@ -0,0 +1,45 @@
+package com.excel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Everything one run produces from a single ingestion, handed unchanged to every selected {@link Renderer}:
+ * the month models (one per requested month), the Jira tickets, the run's input.txt settings and its metrics.
+ */
+public class ReportData {
+
+    final Properties props;
+    final int year;
+    final List<MonthModel> months;
+    final Set<String> tickets;
+    final Map<String, List<String>> ticketsByLog;
+    // Output file name without extension, e.g. "Monthly WorkSheet-august_2025"
+    final String baseName;
+    // Renderers add their sub-phases and counters here
+    final RunMetrics metrics;
+    // Fingerprints of the month's logs for in-place updates, see WorkbookUpdater; null when not applicable
+    final Map<String, String> logSources;
+
+    public ReportData(Properties props, int year, List<MonthModel> months, Set<String> tickets,
+                      Map<String, List<String>> ticketsByLog, String baseName, RunMetrics metrics,
+                      Map<String, String> logSources) {
+        this.props = props;
+        this.year = year;
+        this.months = Collections.unmodifiableList(months);
+        this.tickets = tickets;
+        this.ticketsByLog = ticketsByLog;
+        this.baseName = baseName;
+        this.metrics = metrics;
+        this.logSources = logSources;
+    }
+
+    /** Tickets mentioned in the given day's log, in first-seen order. */
+    List<String> ticketsOn(MonthModel.Day day) {
+        List<String> dayTickets = ticketsByLog.get(day.dateKey);
+        return dayTickets == null ? Collections.<String>emptyList() : dayTickets;
+    }
+}
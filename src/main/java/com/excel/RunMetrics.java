@@ -0,0 +1,147 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Wall time per phase and work counters of one run (one employee).
+ *
+ * Phases are named by stage ("input", "ingest", "model", "render.excel", "jiras", "total"); dotted sub-phases
+ * ("ingest.match", "excel.styles", "excel.write", ...) are contained in their parent. Counters are totals
+ * (files and bytes read, lines parsed, tickets matched, cells written, output bytes, ...).
+ *
+ * At the end of a run the values go to the log and, unless metrics=off in input.txt, to
+ * worksheet-metrics.json and worksheet-metrics.prom (Prometheus text format) next to the worksheet.
+ * Batch runs aggregate all employees in {@link BatchMetrics}.
+ */
+public class RunMetrics {
+
+    private static final Logger LOG = LogManager.getLogger(RunMetrics.class);
+
+    static final String JSON_FILE = "worksheet-metrics.json";
+    static final String PROMETHEUS_FILE = "worksheet-metrics.prom";
+
+    private final String name;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    /** @param name employee (directory) name, used as label */
+    public RunMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // === Recording ===
+    /** Adds the time since startNanos (a System.nanoTime() value) to the phase. */
+    public void time(String phase, long startNanos) {
+        addNanos(phase, System.nanoTime() - startNanos);
+    }
+
+    public synchronized void addNanos(String phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+    }
+
+    public synchronized void add(String counter, long delta) {
+        counters.merge(counter, delta, Long::sum);
+    }
+
+    public synchronized Map<String, Long> getPhaseNanos() {
+        return new LinkedHashMap<>(phaseNanos);
+    }
+
+    public synchronized Map<String, Long> getCounters() {
+        return new LinkedHashMap<>(counters);
+    }
+
+    // === Export ===
+    public void log() {
+        StringBuilder line = new StringBuilder("Run metrics [").append(name).append("]:");
+        for (Map.Entry<String, Long> phase : getPhaseNanos().entrySet()) {
+            line.append(' ').append(phase.getKey()).append('=').append(millis(phase.getValue())).append("ms");
+        }
+        for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+            line.append(' ').append(counter.getKey()).append('=').append(counter.getValue());
+        }
+        LOG.info(line.toString());
+    }
+
+    public void write(File dir) throws IOException {
+        writeFile(new File(dir, JSON_FILE), toJson());
+        writeFile(new File(dir, PROMETHEUS_FILE), toPrometheus());
+    }
+
+    String toJson() {
+        StringBuilder json = new StringBuilder("{\"employee\":").append(jsonString(name)).append(",\"phases_ms\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> phase : getPhaseNanos().entrySet()) {
+            if (!first) json.append(',');
+            json.append(jsonString(phase.getKey())).append(':').append(millis(phase.getValue()));
+            first = false;
+        }
+        json.append("},\"counters\":{");
+        first = true;
+        for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+            if (!first) json.append(',');
+            json.append(jsonString(counter.getKey())).append(':').append(counter.getValue());
+            first = false;
+        }
+        return json.append("}}").toString();
+    }
+
+    String toPrometheus() {
+        StringBuilder prom = new StringBuilder();
+        String employee = "employee=\"" + promLabel(name) + "\"";
+        prom.append("# HELP worksheet_phase_seconds Wall time spent in each phase of the run\n");
+        prom.append("# TYPE worksheet_phase_seconds gauge\n");
+        for (Map.Entry<String, Long> phase : getPhaseNanos().entrySet()) {
+            prom.append("worksheet_phase_seconds{").append(employee).append(",phase=\"").append(phase.getKey())
+                    .append("\"} ").append(seconds(phase.getValue())).append('\n');
+        }
+        for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+            String metric = "worksheet_" + counter.getKey();
+            prom.append("# TYPE ").append(metric).append(" gauge\n");
+            prom.append(metric).append('{').append(employee).append("} ").append(counter.getValue()).append('\n');
+        }
+        return prom.toString();
+    }
+
+    // === Formatting (shared with BatchMetrics) ===
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    static String seconds(double nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+
+    static String jsonString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    static String promLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    static void writeFile(File output, String content) throws IOException {
+        File tmp = new File(output.getPath() + ".tmp");
+        boolean moved = false;
+        try {
+            Files.write(tmp.toPath(), content.getBytes(StandardCharsets.UTF_8));
+            WorkbookWriter.moveIntoPlace(tmp, output);
+            moved = true;
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Long-running "--serve [port] [workers] [queue]" mode: one warm JVM generates worksheets on request, so jobs
+ * skip JVM start-up, class loading and POI initialisation. "--client" is the matching thin client.
+ *
+ * Listens on the loopback interface only. Requests and responses are input.txt-style key=value text:
+ * <pre>
+ * POST /jobs      dir=/path/to/employee (required), any input.txt key overrides it for this job
+ *                 (month, quarter, year, renderers, compressionLevel, ...); answers when the job is done
+ * GET  /metrics   queue depth, active jobs, job counts and latency quantiles (Prometheus text format)
+ * GET  /health    "ok"
+ * </pre>
+ * Jobs run on a fixed pool with a bounded queue; when as many jobs as there are workers plus queue slots are
+ * waiting or running, a job is refused with 503 and Retry-After, which the client honours. Jobs for the same
+ * directory run one at a time: each is chained behind the previous one and only takes a worker once that finished.
+ */
+public class ServerMode {
+
+    public static final int DEFAULT_PORT = 8765;
+
+    private static final int MAX_REQUEST_BYTES = 64 * 1024;
+    // Latency quantiles cover the most recent jobs
+    private static final int LATENCY_WINDOW = 1024;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    // Start time of a job that never ran
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    private static final int CLIENT_RETRIES = 10;
+
+    private final ThreadPoolExecutor jobs;
+    private final int queueCapacity;
+    // Last job accepted per canonical directory; the next one for that directory starts when it completes
+    private final ConcurrentHashMap<String, CompletableFuture<File>> dirTails = new ConcurrentHashMap<>();
+    // Accepted jobs not finished yet: running, in the pool queue or waiting behind a job for the same directory
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong jobIds = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // Ring buffers of the last LATENCY_WINDOW jobs: time queued, time from submission to completion
+    private final long[] queueNanos = new long[LATENCY_WINDOW];
+    private final long[] totalNanos = new long[LATENCY_WINDOW];
+    private long recorded;
+
+    private ServerMode(int workers, int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.jobs = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "worksheet-worker-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void run(int port, int workers, int queueCapacity) throws IOException {
+        ServerMode server = new ServerMode(workers, queueCapacity);
+        server.warmUp();
+
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/jobs", server::handleJob);
+        http.createContext("/metrics", exchange -> respond(exchange, 200, server.prometheus()));
+        http.createContext("/health", exchange -> respond(exchange, 200, "ok\n"));
+        // Every accepted or queued job holds a handler thread while it waits; the rest answer metrics and 503s
+        http.setExecutor(Executors.newFixedThreadPool(workers + queueCapacity + 4));
+        http.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            http.stop(0);
+            server.jobs.shutdown();
+        }));
+        System.out.println("Serving on http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port
+                + " (" + workers + " workers, queue " + queueCapacity + ")");
+    }
+
+    // Loads and initialises the layout, style and zip classes once, so the first real job is as fast as later ones
+    private void warmUp() throws IOException {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        try (Workbook workbook = MonthExcelGenerator.createWorkbook(today.getMonthValue(), today.getYear(),
+                WorkCalendar.STANDARD, new Properties(), new HashMap<>())) {
+            workbook.write(new ByteArrayOutputStream());
+        }
+        System.out.println("Warmed up in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // === Jobs ===
+    private void handleJob(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "error=use POST\n");
+            return;
+        }
+        Properties request = new Properties();
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            respond(exchange, 413, "error=request larger than " + MAX_REQUEST_BYTES + " bytes\n");
+            return;
+        }
+        request.load(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        String dirName = request.getProperty("dir", "").trim();
+        File dir = new File(dirName);
+        if (dirName.isEmpty() || !new File(dir, "input.txt").isFile()) {
+            respond(exchange, 400, "error=" + (dirName.isEmpty() ? "missing dir" : "no input.txt in " + dirName) + "\n");
+            return;
+        }
+        request.remove("dir");
+
+        // Every accepted job fits in the pool once it is due, so the pool itself never has to refuse one
+        if (inFlight.incrementAndGet() > jobs.getMaximumPoolSize() + queueCapacity) {
+            inFlight.decrementAndGet();
+            rejected.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respond(exchange, 503, "error=queue full (" + queueCapacity + " jobs waiting)\n");
+            return;
+        }
+
+        long id = jobIds.incrementAndGet();
+        long submitted = System.nanoTime();
+        // Stays NOT_STARTED when the job never ran, e.g. its chained submission was refused during shutdown
+        long[] started = {NOT_STARTED};
+        File canonical = dir.getCanonicalFile();
+        CompletableFuture<File> job;
+        try {
+            job = enqueue(canonical, () -> {
+                started[0] = System.nanoTime();
+                try {
+                    return MonthExcelGenerator.generate(canonical, new RunMetrics(canonical.getName()), request);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            respond(exchange, 503, "error=server shutting down\n");
+            return;
+        }
+
+        Properties response = new Properties();
+        response.setProperty("job", String.valueOf(id));
+        int status;
+        try {
+            File output = job.get();
+            succeeded.incrementAndGet();
+            response.setProperty("status", "ok");
+            response.setProperty("output", output.getPath());
+            status = 200;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+            if (started[0] == NOT_STARTED && cause instanceof RejectedExecutionException) {
+                respond(exchange, 503, "error=server shutting down\n");
+                return;
+            }
+            failed.incrementAndGet();
+            response.setProperty("status", "failed");
+            response.setProperty("error", cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            status = 500;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancel(true);
+            respond(exchange, 503, "error=server shutting down\n");
+            return;
+        }
+        long done = System.nanoTime();
+        if (started[0] != NOT_STARTED) {
+            record(started[0] - submitted, done - submitted);
+            response.setProperty("queueMillis", String.valueOf((started[0] - submitted) / 1_000_000));
+        }
+        response.setProperty("totalMillis", String.valueOf((done - submitted) / 1_000_000));
+        System.out.println("Job " + id + " " + response.getProperty("status") + " in "
+                + response.getProperty("totalMillis") + " ms: " + dir.getPath());
+
+        StringWriter text = new StringWriter();
+        response.store(text, null);
+        respond(exchange, status, text.toString());
+    }
+
+    // Runs in one directory share its caches, index and outputs: chain the job behind the directory's last one
+    private CompletableFuture<File> enqueue(File canonical, Supplier<File> task) {
+        String key = canonical.getPath();
+        CompletableFuture<File> job = dirTails.compute(key, (k, tail) -> tail == null
+                ? CompletableFuture.supplyAsync(task, jobs)
+                : tail.handle((output, error) -> null).thenCompose(ignored -> CompletableFuture.supplyAsync(task, jobs)));
+        job.whenComplete((output, error) -> {
+            dirTails.remove(key, job);
+            inFlight.decrementAndGet();
+        });
+        return job;
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            body.write(buffer, 0, n);
+            if (body.size() > MAX_REQUEST_BYTES) return null;
+        }
+        return body.toByteArray();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // === Metrics ===
+    private synchronized void record(long queued, long total) {
+        int slot = (int) (recorded++ % LATENCY_WINDOW);
+        queueNanos[slot] = queued;
+        totalNanos[slot] = total;
+    }
+
+    private synchronized String prometheus() {
+        StringBuilder prom = new StringBuilder();
+        prom.append("# TYPE worksheet_server_queue_depth gauge\n");
+        prom.append("worksheet_server_queue_depth ").append(jobs.getQueue().size()).append('\n');
+        prom.append("worksheet_server_queue_capacity ").append(queueCapacity).append('\n');
+        prom.append("# TYPE worksheet_server_active_jobs gauge\n");
+        prom.append("worksheet_server_active_jobs ").append(jobs.getActiveCount()).append('\n');
+        prom.append("# TYPE worksheet_server_jobs_in_flight gauge\n");
+        prom.append("worksheet_server_jobs_in_flight ").append(inFlight.get()).append('\n');
+        prom.append("worksheet_server_workers ").append(jobs.getMaximumPoolSize()).append('\n');
+        prom.append("# TYPE worksheet_server_jobs_total counter\n");
+        prom.append("worksheet_server_jobs_total{status=\"ok\"} ").append(succeeded.get()).append('\n');
+        prom.append("worksheet_server_jobs_total{status=\"failed\"} ").append(failed.get()).append('\n');
+        prom.append("worksheet_server_jobs_total{status=\"rejected\"} ").append(rejected.get()).append('\n');
+        appendLatency(prom, "worksheet_server_queue_seconds", queueNanos);
+        appendLatency(prom, "worksheet_server_job_seconds", totalNanos);
+        return prom.toString();
+    }
+
+    private void appendLatency(StringBuilder prom, String metric, long[] window) {
+        int count = (int) Math.min(recorded, LATENCY_WINDOW);
+        prom.append("# TYPE ").append(metric).append(" summary\n");
+        if (count > 0) {
+            long[] sorted = Arrays.copyOf(window, count);
+            Arrays.sort(sorted);
+            for (double q : QUANTILES) {
+                prom.append(metric).append("{quantile=\"").append(q).append("\"} ")
+                        .append(RunMetrics.seconds(BatchMetrics.percentile(sorted, q))).append('\n');
+            }
+        }
+        prom.append(metric).append("_count ").append(count).append('\n');
+    }
+
+    // === Thin Client ===
+    /**
+     * "--client [dir] [key=value ...]": runs the worksheet for dir (default ".") on the local server
+     * (port: -Dworksheet.port or WORKSHEET_PORT, default 8765), or in this JVM when no server is running.
+     * @return true on success
+     */
+    static boolean submit(String[] args) throws IOException, InterruptedException {
+        File dir = new File(".");
+        Properties request = new Properties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                request.setProperty(arg.substring(0, eq), arg.substring(eq + 1));
+            } else {
+                dir = new File(arg);
+            }
+        }
+        String env = System.getenv("WORKSHEET_PORT");
+        int port = Integer.getInteger("worksheet.port", env == null ? DEFAULT_PORT : Integer.parseInt(env.trim()));
+
+        Properties job = (Properties) request.clone();
+        job.setProperty("dir", dir.getCanonicalPath());
+        StringWriter body = new StringWriter();
+        job.store(body, null);
+
+        for (int attempt = 0; ; attempt++) {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://"
+                    + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port + "/jobs").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (ConnectException e) {
+                System.out.println("No worksheet server on port " + port + "; generating in this JVM.");
+                MonthExcelGenerator.generate(dir, new RunMetrics(dir.getCanonicalFile().getName()), request);
+                return true;
+            }
+
+            int status = connection.getResponseCode();
+            if (status == 503 && attempt < CLIENT_RETRIES) {
+                String retryAfter = connection.getHeaderField("Retry-After");
+                connection.disconnect();
+                Thread.sleep(1000L * (retryAfter == null ? 1 : Integer.parseInt(retryAfter.trim())));
+                continue;
+            }
+            Properties response = new Properties();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) response.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+            if (status == 200) {
+                System.out.println("Abhishek generated A Worksheet: " + response.getProperty("output")
+                        + " (job " + response.getProperty("job") + ", " + response.getProperty("totalMillis") + " ms)");
+                return true;
+            }
+            System.err.println("Server refused the job (" + status + "): " + response.getProperty("error"));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.excel;
+
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+/**
+ * Typed keys of the ExcelLayoutUtil style table, each with its cached description.
+ * A workbook's table is a CellStyle[] indexed by {@link #ordinal()}.
+ */
+public enum StyleKey {
+
+    // Title & Subtitle
+    TITLE("title",               spec(ExcelStyleUtil.BLUE_DARK,  true,  16, HorizontalAlignment.CENTER, IndexedColors.WHITE, false)),
+    SUBTITLE("subtitle",         spec(ExcelStyleUtil.GREY_MED,   true,  12, HorizontalAlignment.CENTER, IndexedColors.BLACK, false)),
+
+    // Labels (Employee Name, etc.) + Values
+    LABEL("label",               spec(ExcelStyleUtil.GREY_MED,   true,  11, HorizontalAlignment.LEFT,   IndexedColors.BLACK, false)),
+    VALUE("value",               spec(ExcelStyleUtil.WHITE,      false, 11, HorizontalAlignment.LEFT,   IndexedColors.BLACK, false)),
+
+    // Table Headers
+    HEADER("header",             spec(ExcelStyleUtil.BLUE_DARK,  true,  11, HorizontalAlignment.CENTER, IndexedColors.WHITE, false)),
+
+    // Weekday cells (zebra striping)
+    DATE("date",                 spec(ExcelStyleUtil.WHITE,      false, 11, HorizontalAlignment.CENTER, IndexedColors.BLACK, false)),
+    DATE_ALT("dateAlt",          spec(ExcelStyleUtil.GREY_LIGHT, false, 11, HorizontalAlignment.CENTER, IndexedColors.BLACK, false)),
+    TASK("task",                 spec(ExcelStyleUtil.WHITE,      false, 11, HorizontalAlignment.LEFT,   IndexedColors.BLACK, true)),
+    TASK_ALT("taskAlt",          spec(ExcelStyleUtil.GREY_LIGHT, false, 11, HorizontalAlignment.LEFT,   IndexedColors.BLACK, true)),
+
+    // Weekend cells
+    WEEKEND_DATE("weekendDate",  spec(ExcelStyleUtil.WEEKEND_BG, true,  11, HorizontalAlignment.CENTER, IndexedColors.BLACK, false)),
+    WEEKEND_TASK("weekendTask",  spec(ExcelStyleUtil.WEEKEND_BG, false, 11, HorizontalAlignment.LEFT,   IndexedColors.BLACK, true));
+
+    // values() clones on every call; the table builder iterates this instead
+    static final StyleKey[] ALL = values();
+
+    private final String legacyName;
+    private final StyleSpec spec;
+
+    StyleKey(String legacyName, StyleSpec spec) {
+        this.legacyName = legacyName;
+        this.spec = spec;
+    }
+
+    /** Key used by the String-keyed {@link ExcelStyleUtil#createStyles} map. */
+    public String legacyName() {
+        return legacyName;
+    }
+
+    public StyleSpec spec() {
+        return spec;
+    }
+
+    // Every layout style is Calibri with borders everywhere
+    private static StyleSpec spec(int bgRgb, boolean bold, int fontPt, HorizontalAlignment align,
+                                  IndexedColors fontColor, boolean wrap) {
+        return new StyleSpec(bgRgb, "Calibri", bold, fontPt, fontColor.getIndex(), align, true, wrap);
+    }
+}
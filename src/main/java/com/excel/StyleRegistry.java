@@ -0,0 +1,137 @@
+package com.excel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+
+/**
+ * Per-workbook style factory that never creates the same font or style twice.
+ * Equal {@link StyleSpec}s share one CellStyle, and equal fonts are shared across styles;
+ * fills and borders are already de-duplicated by the XSSF styles table.
+ * Not thread-safe: one registry per workbook.
+ */
+public class StyleRegistry {
+
+    private final Workbook wb;
+    private final Map<StyleSpec, CellStyle> styles = new HashMap<>();
+    private final Map<FontKey, Font> fonts = new HashMap<>();
+    private CellStyle[] table;
+    private long creationNanos;
+
+    public StyleRegistry(Workbook wb) {
+        this.wb = wb;
+    }
+
+    /** Builds (once) and returns the full ExcelLayoutUtil style table, indexed by StyleKey ordinal. */
+    public CellStyle[] table() {
+        if (table == null) {
+            CellStyle[] built = new CellStyle[StyleKey.ALL.length];
+            for (StyleKey key : StyleKey.ALL) {
+                built[key.ordinal()] = get(key.spec());
+            }
+            table = built;
+        }
+        return table;
+    }
+
+    public CellStyle get(StyleKey key) {
+        return table()[key.ordinal()];
+    }
+
+    public CellStyle get(StyleSpec spec) {
+        CellStyle style = styles.get(spec);
+        if (style == null) {
+            long start = System.nanoTime();
+            style = create(spec);
+            styles.put(spec, style);
+            creationNanos += System.nanoTime() - start;
+        }
+        return style;
+    }
+
+    public int getStyleCount() {
+        return styles.size();
+    }
+
+    public int getFontCount() {
+        return fonts.size();
+    }
+
+    /** Time spent creating styles and fonts (lookups of existing ones are not counted). */
+    public long getCreationNanos() {
+        return creationNanos;
+    }
+
+    private CellStyle create(StyleSpec spec) {
+        CellStyle cs = wb.createCellStyle();
+        cs.setFont(font(spec));
+
+        // Background fill: pattern first, so the intermediate fill is the same for every style and pooled once
+        byte[] rgb = {(byte) (spec.bgRgb >> 16), (byte) (spec.bgRgb >> 8), (byte) spec.bgRgb};
+        cs.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        ((XSSFCellStyle) cs).setFillForegroundColor(new XSSFColor(rgb, null));
+
+        // Alignment & wrapping
+        cs.setAlignment(spec.align);
+        cs.setVerticalAlignment(VerticalAlignment.CENTER);
+        cs.setWrapText(spec.wrap);
+
+        // Borders
+        if (spec.withBorders) {
+            cs.setBorderBottom(BorderStyle.THIN);
+            cs.setBorderTop(BorderStyle.THIN);
+            cs.setBorderLeft(BorderStyle.THIN);
+            cs.setBorderRight(BorderStyle.THIN);
+        }
+        return cs;
+    }
+
+    private Font font(StyleSpec spec) {
+        FontKey key = new FontKey(spec.fontName, spec.bold, spec.fontPt, spec.fontColorIdx);
+        Font f = fonts.get(key);
+        if (f == null) {
+            f = wb.createFont();
+            f.setFontName(spec.fontName);
+            f.setBold(spec.bold);
+            f.setFontHeightInPoints(spec.fontPt);
+            if (spec.fontColorIdx != StyleSpec.DEFAULT_FONT_COLOR) f.setColor(spec.fontColorIdx);
+            fonts.put(key, f);
+        }
+        return f;
+    }
+
+    private static final class FontKey {
+        final String name;
+        final boolean bold;
+        final short pt;
+        final short color;
+
+        FontKey(String name, boolean bold, short pt, short color) {
+            this.name = name;
+            this.bold = bold;
+            this.pt = pt;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FontKey)) return false;
+            FontKey other = (FontKey) o;
+            return bold == other.bold && pt == other.pt && color == other.color && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, bold, pt, color);
+        }
+    }
+}
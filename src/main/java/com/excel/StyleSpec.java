@@ -0,0 +1,51 @@
+package com.excel;
+
+import java.util.Objects;
+
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+
+/**
+ * Immutable description of one cell style.
+ * Equal specs produce the same CellStyle within a workbook (see {@link StyleRegistry}).
+ */
+public final class StyleSpec {
+
+    /** Font colour value that leaves the workbook's default font colour in place. */
+    public static final short DEFAULT_FONT_COLOR = -1;
+
+    final int bgRgb;            // 0xRRGGBB solid fill
+    final String fontName;
+    final boolean bold;
+    final short fontPt;
+    final short fontColorIdx;
+    final HorizontalAlignment align;
+    final boolean withBorders;  // thin on all four sides
+    final boolean wrap;
+
+    public StyleSpec(int bgRgb, String fontName, boolean bold, int fontPt, short fontColorIdx,
+                     HorizontalAlignment align, boolean withBorders, boolean wrap) {
+        this.bgRgb = bgRgb;
+        this.fontName = fontName;
+        this.bold = bold;
+        this.fontPt = (short) fontPt;
+        this.fontColorIdx = fontColorIdx;
+        this.align = align;
+        this.withBorders = withBorders;
+        this.wrap = wrap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StyleSpec)) return false;
+        StyleSpec other = (StyleSpec) o;
+        return bgRgb == other.bgRgb && bold == other.bold && fontPt == other.fontPt
+                && fontColorIdx == other.fontColorIdx && withBorders == other.withBorders && wrap == other.wrap
+                && fontName.equals(other.fontName) && align == other.align;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bgRgb, fontName, bold, fontPt, fontColorIdx, align, withBorders, wrap);
+    }
+}
@@ -0,0 +1,30 @@
+package com.excel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the date-to-tasks map used by fillDatesAndTasks, and the size of what each day sent to its overflow file.
+ */
+public class TaskCollector implements LogSink {
+
+    private final Map<String, List<String>> dateTasks = new HashMap<>();
+    private final Map<String, Long> overflow = new HashMap<>();
+
+    @Override
+    public void accept(ParsedLog log) {
+        dateTasks.computeIfAbsent(log.getFileKey(), k -> new ArrayList<>()).addAll(log.getLines());
+        if (log.getOverflowChars() > 0) overflow.put(log.getFileKey(), log.getOverflowChars());
+    }
+
+    public Map<String, List<String>> getDateTasks() {
+        return dateTasks;
+    }
+
+    /** File key -> characters in its overflow file; only days over the budget. */
+    public Map<String, Long> getOverflow() {
+        return overflow;
+    }
+}
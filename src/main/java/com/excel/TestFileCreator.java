@@ -1,48 +1,311 @@
 package com.excel;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 import java.util.Random;
 
+/**
+ * Seeded synthetic daily logs.
+ * - {@link #generate}: one directory of consecutive daily logs from August 2025 (benchmark and training fixtures)
+ * - {@link #generateDataset}: N employees x M months in the --batch layout, with configurable task counts, line
+ *   lengths, Jira density, project-key mix, junk files, huge logs and archived months (see {@link Shape})
+ * The same seed and shape always produce the same files.
+ */
 public class TestFileCreator {
+
+    // Sample Jira project keys to randomize
+    private static final String[] PROJECT_KEYS = {"HDAG", "HCAG", "HCCUG", "HDCUG", "APIGW"};
+    private static final String[] FILLER_WORDS = {"review", "deploy", "fix", "gateway", "config", "sync",
+            "pipeline", "analysis", "meeting", "build", "test", "release", "migration", "debug"};
+    private static final String[] TEAM_PROJECTS = {"KAFKA", "ESB", "APIGW", "OHAB"};
+
     public static void main(String[] args) throws IOException {
+        if (args.length > 0 && !args[0].matches("-?\\d+")) {
+            // TestFileCreator <root> [key=value ...], keys as in Shape.fromProperties
+            Properties props = new Properties();
+            for (int i = 1; i < args.length; i++) {
+                int eq = args[i].indexOf('=');
+                if (eq > 0) props.setProperty(args[i].substring(0, eq), args[i].substring(eq + 1));
+            }
+            File root = new File(args[0]);
+            List<File> employees = generateDataset(root, Shape.fromProperties(props));
+            System.out.println("✅ " + employees.size() + " employee directories generated in " + root.getAbsolutePath());
+            return;
+        }
+
         String currentDir = System.getProperty("user.dir");
         File targetdir=  new File(currentDir,"target");
         if (!targetdir.exists()) {
             targetdir.mkdirs();
         }
-        Random random = new Random();
+        // Optional seed argument makes the fixture reproducible
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : new Random().nextLong();
+
+        List<File> files = generate(targetdir, seed, 30, 0, 0);
+        for (File file : files) {
+            System.out.println("Created file: " + file.getAbsolutePath());
+        }
 
-        // Sample Jira project keys to randomize
-        String[] projectKeys = {"HDAG", "HCAG", "HCCUG", "HDCUG", "APIGW"};
+        System.out.println("✅ " + files.size() + " test files generated successfully."+ targetdir.getAbsolutePath());
+    }
 
-        for (int day = 1; day <= 30; day++) {
-            String fileName = String.format("aug_%02d_2025.txt", day);
-            File file = new File(targetdir, fileName);
+    // === Dataset Shape ===
+    /** What generateDataset produces; defaults give one employee with one month of classic short logs. */
+    public static class Shape {
+        long seed = 1;
+        int employees = 1;
+        YearMonth firstMonth = YearMonth.of(2025, 8);
+        int months = 1;
+        int minTasks = 1;
+        int maxTasks = 4;
+        // Approximate task line length; 0 keeps the short "Task A1" lines
+        int lineLength = 0;
+        int minJiras = 1;
+        int maxJiras = 2;
+        String[] projects = PROJECT_KEYS;
+        // Relative weight of each project key; all equal picks uniformly
+        int[] weights = {1, 1, 1, 1, 1};
+        // Non-log files per employee directory (stray notes, backups, binaries)
+        int junkFiles = 0;
+        // Logs of the first month padded with build output up to hugeFileBytes
+        int hugeFiles = 0;
+        long hugeFileBytes = 64L * 1024 * 1024;
+        // One-line logs for every day of this many months before firstMonth
+        int archivedMonths = 0;
 
-            try (FileWriter writer = new FileWriter(file)) {
-                // Write a few random tasks
-                for (int taskNum = 1; taskNum <= random.nextInt(4) + 1; taskNum++) {
-                    writer.write("Task " + (char)('A' + day % 26) + taskNum + "\n");
+        /**
+         * Keys: seed, employees, start (yyyy-MM), months, tasks (n or min..max), lineLength, jiras (n or min..max),
+         * projects (KEY or KEY:weight, comma separated), junkFiles, hugeFiles, hugeFileMB, archivedMonths.
+         */
+        public static Shape fromProperties(Properties props) {
+            Shape shape = new Shape();
+            shape.seed = Long.parseLong(props.getProperty("seed", String.valueOf(shape.seed)).trim());
+            shape.employees = Integer.parseInt(props.getProperty("employees", "1").trim());
+            shape.firstMonth = YearMonth.parse(props.getProperty("start", shape.firstMonth.toString()).trim());
+            shape.months = Integer.parseInt(props.getProperty("months", "1").trim());
+            int[] tasks = range(props.getProperty("tasks", "1..4"));
+            shape.minTasks = tasks[0];
+            shape.maxTasks = tasks[1];
+            shape.lineLength = Integer.parseInt(props.getProperty("lineLength", "0").trim());
+            int[] jiras = range(props.getProperty("jiras", "1..2"));
+            shape.minJiras = jiras[0];
+            shape.maxJiras = jiras[1];
+            if (props.containsKey("projects")) {
+                String[] entries = props.getProperty("projects").split(",");
+                shape.projects = new String[entries.length];
+                shape.weights = new int[entries.length];
+                for (int i = 0; i < entries.length; i++) {
+                    String[] parts = entries[i].trim().split(":");
+                    shape.projects[i] = parts[0].trim().toUpperCase();
+                    shape.weights[i] = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
                 }
+            }
+            shape.junkFiles = Integer.parseInt(props.getProperty("junkFiles", "0").trim());
+            shape.hugeFiles = Integer.parseInt(props.getProperty("hugeFiles", "0").trim());
+            shape.hugeFileBytes = Long.parseLong(props.getProperty("hugeFileMB", "64").trim()) * 1024 * 1024;
+            shape.archivedMonths = Integer.parseInt(props.getProperty("archivedMonths", "0").trim());
+            return shape;
+        }
 
-                // Add 1–2 Jira tickets randomly
-                int jiraCount = random.nextInt(2) + 1;
-                for (int j = 0; j < jiraCount; j++) {
-                    String project = projectKeys[random.nextInt(projectKeys.length)];
-                    int ticketNum = 1000 + random.nextInt(9000);
+        // "3" or "1..4"
+        private static int[] range(String value) {
+            String v = value.trim();
+            int dots = v.indexOf("..");
+            if (dots < 0) return new int[]{Integer.parseInt(v), Integer.parseInt(v)};
+            return new int[]{Integer.parseInt(v.substring(0, dots).trim()), Integer.parseInt(v.substring(dots + 2).trim())};
+        }
+    }
 
-                    // Mix casing for "jira"
-                    String jiraWord = (random.nextBoolean() ? "Jira" : (random.nextBoolean() ? "jira" : "JIRA"));
+    /**
+     * Writes fileCount daily logs (aug_01_2025.txt onwards, one per consecutive day) into dir.
+     * The same seed always produces the same files.
+     *
+     * @param tasksPerDay task lines per file; 0 keeps the classic random 1-4
+     * @param lineLength  approximate length of each task line; 0 keeps the short "Task A1" lines
+     */
+    public static List<File> generate(File dir, long seed, int fileCount, int tasksPerDay, int lineLength)
+            throws IOException {
+        Random random = new Random(seed);
+        Shape shape = new Shape();
+        if (tasksPerDay > 0) shape.minTasks = shape.maxTasks = tasksPerDay;
+        shape.lineLength = lineLength;
+        List<File> files = new ArrayList<>();
+        LocalDate date = LocalDate.of(2025, 8, 1);
 
-                    writer.write(jiraWord + " " + project + " " + ticketNum + "\n");
-                }
+        for (int day = 1; day <= fileCount; day++, date = date.plusDays(1)) {
+            File file = logFile(dir, date);
+            try (Writer writer = new FileWriter(file)) {
+                writeDay(writer, random, shape, day);
             }
+            files.add(file);
+        }
+        return files;
+    }
 
-            System.out.println("Created file: " + file.getAbsolutePath());
+    // === Dataset (N employees x M months) ===
+    /**
+     * Writes one directory per employee (emp001, emp002, ...) under root, each with an input.txt for its period
+     * and a log for every day of the shape's months. Employees get their own random stream (seed + index), so
+     * adding employees never changes the existing ones.
+     * @return the employee directories
+     */
+    public static List<File> generateDataset(File root, Shape shape) throws IOException {
+        List<File> dirs = new ArrayList<>();
+        for (int e = 1; e <= shape.employees; e++) {
+            File dir = new File(root, String.format("emp%03d", e));
+            dir.mkdirs();
+            Random random = new Random(shape.seed * 1_000_003L + e);
+            writeInput(dir, shape, e);
+
+            // Archived months: one short line a day, oldest first
+            Shape archived = new Shape();
+            archived.minTasks = archived.maxTasks = 1;
+            archived.minJiras = 0;
+            archived.maxJiras = Math.min(1, shape.maxJiras);
+            archived.projects = shape.projects;
+            archived.weights = shape.weights;
+            for (YearMonth month = shape.firstMonth.minusMonths(shape.archivedMonths);
+                 month.isBefore(shape.firstMonth); month = month.plusMonths(1)) {
+                writeMonth(dir, month, random, archived, 0);
+            }
+
+            for (int m = 0; m < shape.months; m++) {
+                writeMonth(dir, shape.firstMonth.plusMonths(m), random, shape, m == 0 ? shape.hugeFiles : 0);
+            }
+            for (int j = 0; j < shape.junkFiles; j++) {
+                writeJunk(dir, random, j);
+            }
+            dirs.add(dir);
+        }
+        return dirs;
+    }
+
+    private static void writeInput(File dir, Shape shape, int employee) throws IOException {
+        YearMonth last = shape.firstMonth.plusMonths(shape.months - 1);
+        String month = last.getYear() == shape.firstMonth.getYear() && shape.months > 1
+                ? shape.firstMonth.getMonthValue() + ".." + last.getMonthValue()
+                : String.valueOf(last.getMonthValue());
+        try (Writer writer = new FileWriter(new File(dir, "input.txt"))) {
+            writer.write("name=Employee " + String.format("%03d", employee) + "\n");
+            writer.write("managerName=Manager " + ((employee - 1) / 8 + 1) + "\n");
+            writer.write("employeeId=E" + String.format("%05d", employee) + "\n");
+            writer.write("projectName=" + TEAM_PROJECTS[(employee - 1) % TEAM_PROJECTS.length] + "\n");
+            writer.write("month=" + month + "\n");
+            writer.write("year=" + last.getYear() + "\n");
+            writer.write("jiraProjects=" + String.join(",", shape.projects) + "\n");
+        }
+    }
+
+    private static void writeMonth(File dir, YearMonth month, Random random, Shape shape, int hugeFiles)
+            throws IOException {
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            File file = logFile(dir, month.atDay(day));
+            try (Writer writer = new BufferedWriter(new FileWriter(file), 64 * 1024)) {
+                writeDay(writer, random, shape, day);
+                if (day <= hugeFiles) padWithBuildOutput(writer, random, shape);
+            }
+        }
+    }
+
+    // === One Day ===
+    // Random draws in the classic order, so generate() keeps producing the files it always did
+    private static void writeDay(Writer writer, Random random, Shape shape, int day) throws IOException {
+        int taskCount = shape.minTasks == shape.maxTasks ? shape.minTasks
+                : random.nextInt(shape.maxTasks - shape.minTasks + 1) + shape.minTasks;
+        for (int taskNum = 1; taskNum <= taskCount; taskNum++) {
+            writer.write(taskLine(random, "Task " + (char) ('A' + day % 26) + taskNum, shape.lineLength) + "\n");
+        }
+
+        int jiraCount = shape.minJiras == shape.maxJiras ? shape.minJiras
+                : random.nextInt(shape.maxJiras - shape.minJiras + 1) + shape.minJiras;
+        for (int j = 0; j < jiraCount; j++) {
+            writer.write(jiraLine(random, shape) + "\n");
         }
+    }
+
+    private static String jiraLine(Random random, Shape shape) {
+        String project = pickProject(random, shape);
+        int ticketNum = 1000 + random.nextInt(9000);
+        // Mix casing for "jira"
+        String jiraWord = (random.nextBoolean() ? "Jira" : (random.nextBoolean() ? "jira" : "JIRA"));
+        return jiraWord + " " + project + " " + ticketNum;
+    }
+
+    private static String pickProject(Random random, Shape shape) {
+        int total = 0;
+        boolean uniform = true;
+        for (int weight : shape.weights) {
+            total += weight;
+            uniform &= weight == shape.weights[0];
+        }
+        if (uniform) return shape.projects[random.nextInt(shape.projects.length)];
+        int pick = random.nextInt(total);
+        for (int i = 0; i < shape.weights.length; i++) {
+            pick -= shape.weights[i];
+            if (pick < 0) return shape.projects[i];
+        }
+        return shape.projects[shape.projects.length - 1];
+    }
+
+    private static String taskLine(Random random, String prefix, int lineLength) {
+        StringBuilder line = new StringBuilder(prefix);
+        while (line.length() < lineLength) {
+            line.append(' ').append(FILLER_WORDS[random.nextInt(FILLER_WORDS.length)]);
+        }
+        return line.toString();
+    }
+
+    // === Pathological Content ===
+    // Pasted build output up to hugeFileBytes, with a Jira mention every few hundred lines
+    private static void padWithBuildOutput(Writer writer, Random random, Shape shape) throws IOException {
+        long written = 0;
+        for (int line = 0; written < shape.hugeFileBytes; line++) {
+            String text = line % 500 == 499 && shape.maxJiras > 0 ? "[INFO] " + jiraLine(random, shape)
+                    : "[INFO] Building module-" + line + " ... " + FILLER_WORDS[random.nextInt(FILLER_WORDS.length)]
+                    + " " + random.nextInt(100000) + " ms";
+            writer.write(text);
+            writer.write('\n');
+            written += text.length() + 1;
+        }
+    }
+
+    // Stray files a real log folder collects: notes (a .txt that is no log), editor backups, logs, binaries
+    private static void writeJunk(File dir, Random random, int index) throws IOException {
+        switch (index % 4) {
+            case 0:
+                try (Writer writer = new FileWriter(new File(dir, "notes_" + index + ".txt"))) {
+                    writer.write("Meeting notes\n" + jiraLine(random, new Shape()) + "\n");
+                }
+                break;
+            case 1:
+                try (Writer writer = new FileWriter(new File(dir, "aug_01_2025.txt.bak" + index))) {
+                    writer.write("old copy\n");
+                }
+                break;
+            case 2:
+                try (Writer writer = new FileWriter(new File(dir, "scratch_" + index + ".log"))) {
+                    writer.write("DEBUG " + random.nextLong() + "\n");
+                }
+                break;
+            default:
+                byte[] bytes = new byte[4096];
+                random.nextBytes(bytes);
+                try (FileOutputStream out = new FileOutputStream(new File(dir, "junk_" + index + ".bin"))) {
+                    out.write(bytes);
+                }
+        }
+    }
 
-        System.out.println("✅ 30 test files generated successfully."+ targetdir.getAbsolutePath());
+    private static File logFile(File dir, LocalDate date) {
+        return new File(dir, date.format(LogIngestor.FILE_KEY_FORMAT).toLowerCase() + ".txt");
     }
 }
@@ -0,0 +1,230 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Long-running "--watch [dir]" mode: keeps the current month's worksheet up to date while logs are edited.
+ *
+ * The workbook is built once and kept in memory. File events are debounced, then only the changed logs are
+ * re-parsed, their date rows rewritten in place, the Jira index updated and All_Jiras.txt derived from it.
+ * The worksheet is rewritten via temp file + rename. Changing input.txt or the calendar file (calendarFile, default
+ * calendars.properties) triggers a full rebuild; a failed rebuild keeps the previous workbook and settings.
+ */
+public class WatchMode {
+
+    // Quiet period after the last event before changes are applied (editors save in bursts)
+    private static final long DEBOUNCE_MS = 500;
+
+    private final File dir;
+    private Properties props;
+    private int monthNum;
+    private int year;
+    private WorkCalendar calendar;
+    private LogIngestor ingestor;
+    private WorkbookWriter writer;
+    private JiraIndex jiraIndex;
+    private Map<String, List<String>> dateTasks;
+    private Map<String, Long> overflow;
+    private Map<String, List<String>> ticketsByFile = new HashMap<>();
+    private Workbook workbook;
+    private File output;
+
+    private WatchMode(File dir) {
+        this.dir = dir;
+    }
+
+    public static void run(File dir) throws IOException, InterruptedException {
+        WatchMode watch = new WatchMode(dir);
+        watch.rebuild();
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            dir.toPath().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            System.out.println("Watching " + dir.getAbsolutePath() + " for log changes (Ctrl+C to stop)...");
+
+            while (true) {
+                Set<String> changed = new LinkedHashSet<>();
+                boolean overflow = drain(watcher.take(), changed);
+                // Debounce: keep collecting until the directory has been quiet for DEBOUNCE_MS
+                WatchKey key;
+                while ((key = watcher.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= drain(key, changed);
+                }
+
+                try {
+                    if (overflow || changed.stream().anyMatch(watch::isSettingsFile)) {
+                        watch.rebuild();
+                    } else {
+                        watch.apply(changed);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Keep watching; the next save of the file will retry
+                    System.err.println("Update failed: " + e);
+                }
+            }
+        }
+    }
+
+    /** @return true if events were lost and a full rebuild is needed */
+    private static boolean drain(WatchKey key, Set<String> changed) {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                changed.add(((Path) event.context()).getFileName().toString());
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    // input.txt and the calendar file it names (when that lives in the watched directory)
+    private boolean isSettingsFile(String name) {
+        if (name.equals("input.txt") || name.equals(WorkCalendar.DEFAULT_FILE)) return true;
+        File file = new File(props.getProperty("calendarFile", WorkCalendar.DEFAULT_FILE).trim());
+        if (!file.isAbsolute()) file = new File(dir, file.getPath());
+        return file.getName().equals(name) && file.getAbsoluteFile().getParentFile().equals(dir.getAbsoluteFile());
+    }
+
+    // === Full Build ===
+    // Builds into locals and only then replaces the watched state, so a bad input.txt keeps the last good worksheet
+    private void rebuild() throws IOException {
+        Properties newProps = MonthExcelGenerator.loadInputFile(dir);
+        List<Integer> months = MonthExcelGenerator.parseMonths(newProps);
+        if (months.size() != 1) {
+            throw new IllegalArgumentException("Watch mode keeps a single month up to date; set month=<1..12> in input.txt");
+        }
+        int newMonthNum = months.get(0);
+        int newYear = Integer.parseInt(newProps.getProperty("year", String.valueOf(LocalDate.now().getYear())).trim());
+        WorkCalendar newCalendar = WorkCalendar.forProperties(dir, newProps);
+        // Rows are updated in place later, which a flushed streaming sheet cannot do
+        newProps.setProperty("outputMode", MonthExcelGenerator.MODE_MEMORY);
+
+        LogIngestor newIngestor = MonthExcelGenerator.newIngestor(dir, newProps);
+        WorkbookWriter newWriter = WorkbookWriter.fromProperties(newProps);
+        JiraIndex newJiraIndex = JiraIndex.load(dir);
+        TaskCollector tasks = new TaskCollector();
+        Map<String, List<String>> newTicketsByFile = new HashMap<>();
+        MonthExcelGenerator.ingestLogs(newIngestor, dir, newProps, months, newYear, newCalendar, tasks,
+                log -> newTicketsByFile.put(log.getFileKey(), log.getTickets()));
+
+        Workbook newWorkbook = MonthExcelGenerator.createWorkbook(newMonthNum, newYear, newCalendar, newProps,
+                tasks.getDateTasks(), tasks.getOverflow());
+        File newOutput = new File(dir, MonthExcelGenerator.outputFileName(newMonthNum, newYear));
+        try {
+            newWriter.write(newWorkbook, newOutput);
+        } catch (IOException | RuntimeException e) {
+            newWorkbook.close();
+            throw e;
+        }
+
+        Workbook previous = workbook;
+        props = newProps;
+        monthNum = newMonthNum;
+        year = newYear;
+        calendar = newCalendar;
+        ingestor = newIngestor;
+        writer = newWriter;
+        jiraIndex = newJiraIndex;
+        ticketsByFile = newTicketsByFile;
+        dateTasks = tasks.getDateTasks();
+        overflow = tasks.getOverflow();
+        workbook = newWorkbook;
+        output = newOutput;
+        if (previous != null) previous.close();
+        writeJiras();
+        System.out.println("Built " + output.getPath());
+    }
+
+    // === Incremental Update ===
+    private void apply(Set<String> changed) throws IOException {
+        String datePattern = MonthExcelGenerator.logFilePattern(props);
+        String glob = props.getProperty("logGlob", "").trim();
+        boolean monthScope = glob.isEmpty() && !MonthExcelGenerator.SCOPE_ALL.equals(
+                props.getProperty("ingestScope", MonthExcelGenerator.SCOPE_MONTH).trim().toLowerCase());
+        PathMatcher globMatcher = glob.isEmpty() ? null : FileSystems.getDefault().getPathMatcher("glob:" + glob);
+
+        Set<String> updatedDays = new TreeSet<>();
+        boolean touched = false;
+        for (String name : changed) {
+            LocalDate date = LogIngestor.dateOf(name, datePattern);
+            boolean inMonth = date != null && date.getYear() == year && date.getMonthValue() == monthNum;
+
+            // Same file selection as the initial ingestion
+            boolean relevant;
+            if (globMatcher != null) {
+                relevant = globMatcher.matches(Paths.get(name));
+            } else if (monthScope) {
+                relevant = inMonth;
+            } else {
+                relevant = name.toLowerCase().endsWith(".txt");
+            }
+            if (!relevant || name.equals("All_Jiras.txt") || isSettingsFile(name)) continue;
+
+            touched = true;
+            File file = new File(dir, name);
+            String key = monthScope ? date.format(LogIngestor.FILE_KEY_FORMAT).toLowerCase() : LogIngestor.fileKey(file);
+            if (file.isFile()) {
+                ParsedLog log = ingestor.parse(file, key);
+                dateTasks.put(key, log.getLines());
+                ticketsByFile.put(key, log.getTickets());
+                if (log.getOverflowChars() > 0) overflow.put(key, log.getOverflowChars());
+                else overflow.remove(key);
+            } else {
+                dateTasks.remove(key);
+                overflow.remove(key);
+                ticketsByFile.remove(key);
+            }
+
+            if (inMonth) {
+                String dateKey = date.format(LogIngestor.FILE_KEY_FORMAT).toLowerCase();
+                MonthExcelGenerator.updateTaskRow(workbook.getSheetAt(0), calendar, date, dateTasks.get(dateKey),
+                        overflow.get(dateKey));
+                updatedDays.add(dateKey);
+            }
+        }
+        // Our own writes (worksheet, All_Jiras.txt, cache) also raise events; they must not trigger another write
+        if (!touched) return;
+
+        MonthExcelGenerator.saveParseCache(ingestor);
+        write();
+        System.out.println("Updated " + (updatedDays.isEmpty() ? "Jira list" : String.join(", ", updatedDays))
+                + " -> " + output.getName());
+    }
+
+    private void write() throws IOException {
+        writer.write(workbook, output);
+        writeJiras();
+    }
+
+    private void writeJiras() throws IOException {
+        BiPredicate<String, LocalDate> scope = MonthExcelGenerator.ingestedScope(props,
+                Collections.singletonList(monthNum), year);
+        jiraIndex.update(ticketsByFile, MonthExcelGenerator.logFilePattern(props), scope);
+        jiraIndex.save();
+        MonthExcelGenerator.writeJiras(dir, jiraIndex.tickets(scope));
+    }
+}
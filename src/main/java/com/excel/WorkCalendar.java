@@ -0,0 +1,208 @@
+package com.excel;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Week-off rules and public holidays of one location.
+ *
+ * For each (year, month) the off days are computed once into an int bitmap (bit d-1 = day d is off) and cached,
+ * so layout code, summaries and watch mode test a bit instead of redoing date arithmetic per row. Calendars are
+ * immutable and shared across threads; calendars loaded from the same file are shared by every employee using it.
+ *
+ * calendars.properties (input.txt: calendar=<name>, calendarFile=<path>, default calendars.properties):
+ * <pre>
+ * # SUN = every Sunday, SAT2 = 2nd Saturday of the month (occurrences 1..5)
+ * pune.weekOff=SUN,SAT2,SAT4
+ * pune.holidays=2025-08-15,2025-10-02
+ * </pre>
+ */
+public class WorkCalendar {
+
+    public static final String DEFAULT_FILE = "calendars.properties";
+    public static final String STANDARD_NAME = "standard";
+
+    /** Sunday, 2nd Saturday and 4th Saturday off, no holidays. Used when input.txt names no calendar. */
+    public static final WorkCalendar STANDARD = new WorkCalendar(STANDARD_NAME,
+            parseWeekOff("SUN,SAT2,SAT4"), new HashSet<>());
+
+    // Occurrence bits 1..5 of a weekday within the month
+    private static final int EVERY_OCCURRENCE = 0x3E;
+
+    // Loaded calendar files by canonical path; an entry is replaced when its file's modification time changes
+    private static final ConcurrentHashMap<String, LoadedFile> FILES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String id;
+    // Indexed by DayOfWeek.getValue() - 1; bit n set = the n-th such weekday of the month is off
+    private final int[] weekOffOccurrences;
+    private final Set<LocalDate> holidays;
+    // year * 16 + month -> off-day bits (low 32) | holiday bits (high 32)
+    private final ConcurrentHashMap<Integer, Long> monthBits = new ConcurrentHashMap<>();
+
+    private WorkCalendar(String name, int[] weekOffOccurrences, Set<LocalDate> holidays) {
+        this(name, name, weekOffOccurrences, holidays);
+    }
+
+    private WorkCalendar(String name, String id, int[] weekOffOccurrences, Set<LocalDate> holidays) {
+        this.name = name;
+        this.id = id;
+        this.weekOffOccurrences = weekOffOccurrences;
+        this.holidays = holidays;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Distinguishes equally named calendars from different files (or file versions); used in cache keys. */
+    public String getId() {
+        return id;
+    }
+
+    // === Month Bitmaps ===
+    /** Bit d-1 is set when day d of the month is off (week-off or holiday). */
+    public int offDays(int year, int monthNum) {
+        return (int) bits(year, monthNum);
+    }
+
+    /** Bit d-1 is set when day d of the month is a public holiday. */
+    public int holidays(int year, int monthNum) {
+        return (int) (bits(year, monthNum) >>> 32);
+    }
+
+    public static boolean isSet(int bitmap, int dayOfMonth) {
+        return (bitmap & (1 << (dayOfMonth - 1))) != 0;
+    }
+
+    public boolean isOff(LocalDate date) {
+        return isSet(offDays(date.getYear(), date.getMonthValue()), date.getDayOfMonth());
+    }
+
+    private long bits(int year, int monthNum) {
+        return monthBits.computeIfAbsent(year * 16 + monthNum, key -> computeBits(year, monthNum));
+    }
+
+    private long computeBits(int year, int monthNum) {
+        LocalDate first = LocalDate.of(year, monthNum, 1);
+        int firstDow = first.getDayOfWeek().getValue() - 1;
+        int off = 0;
+        int holidayBits = 0;
+        for (int day = 1; day <= first.lengthOfMonth(); day++) {
+            int dow = (firstDow + day - 1) % 7;
+            int occurrence = (day - 1) / 7 + 1;
+            if ((weekOffOccurrences[dow] & (1 << occurrence)) != 0) off |= 1 << (day - 1);
+        }
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() == year && holiday.getMonthValue() == monthNum) {
+                holidayBits |= 1 << (holiday.getDayOfMonth() - 1);
+            }
+        }
+        return (off | holidayBits) & 0xFFFFFFFFL | ((long) holidayBits << 32);
+    }
+
+    // === Loading ===
+    /**
+     * The calendar named by input.txt's "calendar" key, from "calendarFile" (relative to dir).
+     * Without a calendar key, or without a file and the name "standard", the built-in STANDARD calendar is used.
+     */
+    public static WorkCalendar forProperties(File dir, Properties props) throws IOException {
+        String name = props.getProperty("calendar", "").trim();
+        if (name.isEmpty()) return STANDARD;
+
+        File file = new File(props.getProperty("calendarFile", DEFAULT_FILE).trim());
+        if (!file.isAbsolute()) file = new File(dir, file.getPath());
+        Map<String, WorkCalendar> calendars = file.isFile() ? load(file) : new HashMap<String, WorkCalendar>();
+
+        WorkCalendar calendar = calendars.get(name);
+        if (calendar == null && STANDARD_NAME.equals(name)) calendar = STANDARD;
+        if (calendar == null) {
+            throw new IllegalArgumentException("Unknown calendar '" + name + "' (not defined in " + file.getPath() + ")");
+        }
+        return calendar;
+    }
+
+    static Map<String, WorkCalendar> load(File file) throws IOException {
+        String path = file.getCanonicalPath();
+        long modified = file.lastModified();
+        LoadedFile loaded = FILES.get(path);
+        if (loaded == null || loaded.modified != modified) {
+            // Calendar ids carry the modification time, so a worksheet built from the old file looks changed
+            loaded = new LoadedFile(modified, parse(file, path + "@" + modified));
+            FILES.put(path, loaded);
+        }
+        return loaded.calendars;
+    }
+
+    private static Map<String, WorkCalendar> parse(File file, String source) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+
+        Set<String> names = new HashSet<>();
+        for (String key : props.stringPropertyNames()) {
+            if (key.endsWith(".weekOff") || key.endsWith(".holidays")) names.add(key.substring(0, key.lastIndexOf('.')));
+        }
+
+        Map<String, WorkCalendar> calendars = new HashMap<>();
+        for (String name : names) {
+            String weekOff = props.getProperty(name + ".weekOff", "SUN,SAT2,SAT4");
+            Set<LocalDate> holidays = new HashSet<>();
+            for (String date : props.getProperty(name + ".holidays", "").split(",")) {
+                if (date.trim().isEmpty()) continue;
+                try {
+                    holidays.add(LocalDate.parse(date.trim()));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid holiday '" + date.trim() + "' for calendar " + name
+                            + " in " + file.getPath() + " (expected yyyy-MM-dd)");
+                }
+            }
+            calendars.put(name, new WorkCalendar(name, name + "@" + source, parseWeekOff(weekOff), holidays));
+        }
+        return calendars;
+    }
+
+    // "SUN,SAT2,SAT4" -> per weekday occurrence bits
+    private static int[] parseWeekOff(String rules) {
+        int[] occurrences = new int[7];
+        for (String rule : rules.split(",")) {
+            rule = rule.trim().toUpperCase();
+            if (rule.isEmpty()) continue;
+            DayOfWeek day = null;
+            for (DayOfWeek candidate : DayOfWeek.values()) {
+                if (rule.startsWith(candidate.name().substring(0, 3))) day = candidate;
+            }
+            String occurrence = day == null ? "" : rule.substring(3);
+            if (day == null || !occurrence.matches("[1-5]?")) {
+                throw new IllegalArgumentException("Invalid week-off rule: " + rule + " (expected e.g. SUN or SAT2)");
+            }
+            occurrences[day.getValue() - 1] |= occurrence.isEmpty()
+                    ? EVERY_OCCURRENCE : 1 << Integer.parseInt(occurrence);
+        }
+        return occurrences;
+    }
+
+    private static final class LoadedFile {
+        final long modified;
+        final Map<String, WorkCalendar> calendars;
+
+        LoadedFile(long modified, Map<String, WorkCalendar> calendars) {
+            this.modified = modified;
+            this.calendars = calendars;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * In-place update of an existing single-month worksheet (input.txt: updateExisting=true).
+ *
+ * Every generated worksheet records the size and modification time of each day's log in a custom document
+ * property. An update compares those with the logs on disk; only days whose log changed (or appeared, or was
+ * deleted) are touched. The sheet is read with POI's SAX event reader to find the date rows, its XML is streamed
+ * once with just those task cells replaced, and every other package part is copied without being recompressed.
+ * Manual edits outside the task cells of changed days survive.
+ *
+ * Falls back to a full rebuild when the workbook has no recorded sources, the calendar or the day size budget
+ * changed, a changed day is or was over the budget (its cell carries a link), or the run is not a single month
+ * read in month scope.
+ */
+public class WorkbookUpdater {
+
+    static final String SOURCES_PROPERTY = "WorksheetLogSources";
+
+    private static final String CALENDAR_KEY = "calendar";
+    private static final String BUDGET_KEY = "maxDayChars";
+    private static final String HEADER_KEY = "header";
+    private static final List<String> HEADER_FIELDS = Arrays.asList("name", "managerName", "projectName", "employeeId");
+    private static final String OVERFLOW_KEY = "overflow";
+    private static final String MISSING = "-";
+    private static final String CUSTOM_PROPERTIES_PART = "docProps/custom.xml";
+
+    // === Log Sources ===
+    /**
+     * Fingerprints of the logs a run reads, taken before ingestion so a log saved meanwhile looks changed next time:
+     * date key -> "size:modified" ("-" if missing), plus the calendar id, the day size budget and a hash of the
+     * input.txt header fields shown above the table.
+     * Null when the run cannot be updated later.
+     */
+    static Map<String, String> logSources(File dir, Properties props, List<Integer> months, int year,
+                                          WorkCalendar calendar) {
+        boolean monthScope = props.getProperty("logGlob", "").trim().isEmpty()
+                && MonthExcelGenerator.SCOPE_MONTH.equals(props.getProperty("ingestScope",
+                MonthExcelGenerator.SCOPE_MONTH).trim().toLowerCase());
+        if (!monthScope || months.size() != 1) return null;
+
+        DateTimeFormatter fileNameFormat = DateTimeFormatter.ofPattern(MonthExcelGenerator.logFilePattern(props), Locale.ENGLISH);
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(CALENDAR_KEY, calendar.getId());
+        sources.put(BUDGET_KEY, String.valueOf(LogIngestor.maxDayChars(props)));
+        sources.put(HEADER_KEY, headerHash(props));
+        LocalDate start = LocalDate.of(year, months.get(0), 1);
+        for (LocalDate date = start; date.getMonthValue() == start.getMonthValue(); date = date.plusDays(1)) {
+            File log = LogIngestor.monthLogFile(dir, date, fileNameFormat);
+            sources.put(date.format(LogIngestor.FILE_KEY_FORMAT).toLowerCase(),
+                    log.isFile() ? log.length() + ":" + log.lastModified() : MISSING);
+        }
+        return sources;
+    }
+
+    // CRC32 of the header values; hex keeps it clear of the ';' and '=' separators
+    private static String headerHash(Properties props) {
+        CRC32 crc = new CRC32();
+        for (String field : HEADER_FIELDS) {
+            crc.update(props.getProperty(field, "").getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    /** Stores the run's log fingerprints in a freshly built workbook, for later in-place updates. */
+    static void recordSources(Workbook workbook, ReportData data) {
+        Map<String, String> sources = withOverflow(data);
+        if (sources == null) return;
+        XSSFWorkbook xssf = workbook instanceof SXSSFWorkbook ? ((SXSSFWorkbook) workbook).getXSSFWorkbook()
+                : workbook instanceof XSSFWorkbook ? (XSSFWorkbook) workbook : null;
+        if (xssf != null) xssf.getProperties().getCustomProperties().addProperty(SOURCES_PROPERTY, format(sources));
+    }
+
+    // The log sources plus the working days over the budget, whose cells link to their overflow file
+    private static Map<String, String> withOverflow(ReportData data) {
+        if (data.logSources == null) return null;
+        List<String> overflowDays = new ArrayList<>();
+        for (MonthModel month : data.months) {
+            for (MonthModel.Day day : month.days) {
+                if (day.overflow != null) overflowDays.add(day.dateKey);
+            }
+        }
+        if (overflowDays.isEmpty()) return data.logSources;
+        Map<String, String> sources = new LinkedHashMap<>(data.logSources);
+        sources.put(OVERFLOW_KEY, String.join(",", overflowDays));
+        return sources;
+    }
+
+    private static String format(Map<String, String> sources) {
+        StringBuilder value = new StringBuilder();
+        for (Map.Entry<String, String> e : sources.entrySet()) {
+            if (value.length() > 0) value.append(';');
+            value.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return value.toString();
+    }
+
+    private static Map<String, String> parse(String value) {
+        Map<String, String> sources = new HashMap<>();
+        for (String pair : value.split(";")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) sources.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return sources;
+    }
+
+    // === Update ===
+    /**
+     * Rewrites the task cells of changed days in output.
+     * @return false if output cannot be updated in place and must be rebuilt (the reason is printed)
+     */
+    static boolean update(File output, ReportData data) throws IOException {
+        if (data.logSources == null || data.months.size() != 1) {
+            System.out.println("In-place update needs a single month in month scope; rebuilding " + output.getName());
+            return false;
+        }
+        MonthModel model = data.months.get(0);
+
+        Map<String, String> recorded;
+        try (ZipFile zip = new ZipFile(output)) {
+            recorded = readRecordedSources(zip);
+        }
+        String mismatch = recorded == null ? "No recorded log sources"
+                : !data.logSources.get(CALENDAR_KEY).equals(recorded.get(CALENDAR_KEY)) ? "Calendar changed"
+                : !data.logSources.get(BUDGET_KEY).equals(recorded.get(BUDGET_KEY)) ? "Day size budget changed"
+                : !data.logSources.get(HEADER_KEY).equals(recorded.get(HEADER_KEY)) ? "Header fields changed"
+                : null;
+        if (mismatch != null) {
+            System.out.println(mismatch + " in " + output.getName() + "; rebuilding");
+            return false;
+        }
+        List<String> recordedOverflow = recorded.containsKey(OVERFLOW_KEY)
+                ? Arrays.asList(recorded.get(OVERFLOW_KEY).split(",")) : Collections.<String>emptyList();
+
+        // Off days always read "Week Off" / "Holiday", whatever their log says
+        Map<String, String> changedText = new TreeMap<>();
+        for (MonthModel.Day day : model.days) {
+            if (!day.off && !data.logSources.get(day.dateKey).equals(recorded.get(day.dateKey))) {
+                changedText.put(day.dateKey, day.taskText);
+                // Only the cell value is rewritten in place; adding or dropping its hyperlink needs a rebuild
+                if (day.overflow != null || recordedOverflow.contains(day.dateKey)) {
+                    System.out.println("Log of " + day.dateKey + " is or was over maxDayChars; rebuilding "
+                            + output.getName());
+                    return false;
+                }
+            }
+        }
+        if (changedText.isEmpty()) {
+            System.out.println(output.getName() + " is up to date");
+            data.metrics.add("cells_updated", 0);
+            return true;
+        }
+
+        // Locate the date rows (1-based row numbers, as in cell references) of the changed days
+        String sheetName = String.valueOf(Month.of(model.monthNum)) + model.year;
+        Map<Integer, String> rowText = new HashMap<>();
+        String sheetPart = findDateRows(output, sheetName, changedText, rowText);
+        if (sheetPart == null || rowText.size() != changedText.size()) {
+            System.out.println("Sheet " + sheetName + " or some of its date rows are missing in " + output.getName()
+                    + "; rebuilding");
+            return false;
+        }
+
+        int[] replaced = new int[1];
+        rewrite(output, sheetPart, rowText, replaced, withOverflow(data), WorkbookWriter.fromProperties(data.props));
+        data.metrics.add("cells_updated", replaced[0]);
+        System.out.println("Updated " + replaced[0] + " task cell(s) in " + output.getName() + ": "
+                + String.join(", ", changedText.keySet()));
+        return true;
+    }
+
+    private static Map<String, String> readRecordedSources(ZipFile zip) throws IOException {
+        ZipArchiveEntry custom = zip.getEntry(CUSTOM_PROPERTIES_PART);
+        if (custom == null) return null;
+        try (InputStream in = zip.getInputStream(custom)) {
+            XMLEventReader reader = XMLHelper.newXMLInputFactory().createXMLEventReader(in);
+            boolean inSources = false;
+            StringBuilder value = new StringBuilder();
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartElement() && isSourcesProperty(event.asStartElement())) {
+                    inSources = true;
+                } else if (event.isEndElement() && inSources && "property".equals(event.asEndElement().getName().getLocalPart())) {
+                    return parse(value.toString());
+                } else if (event.isCharacters() && inSources) {
+                    value.append(event.asCharacters().getData());
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot read " + CUSTOM_PROPERTIES_PART, e);
+        }
+    }
+
+    private static boolean isSourcesProperty(StartElement element) {
+        Attribute name = element.getAttributeByName(new QName("name"));
+        return "property".equals(element.getName().getLocalPart()) && name != null
+                && SOURCES_PROPERTY.equals(name.getValue());
+    }
+
+    // === SAX Read ===
+    /**
+     * Streams the named sheet and maps the row of each changed date key (column A) to its new task text.
+     * @return the sheet's zip entry name, or null if there is no such sheet
+     */
+    private static String findDateRows(File output, String sheetName, Map<String, String> changedText,
+                                       Map<Integer, String> rowText) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(output, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream in = sheets.next()) {
+                    if (!sheetName.equals(sheets.getSheetName())) continue;
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings,
+                            new XSSFSheetXMLHandler.SheetContentsHandler() {
+                                private int row;
+
+                                @Override
+                                public void startRow(int rowNum) {
+                                    row = rowNum + 1;
+                                }
+
+                                @Override
+                                public void endRow(int rowNum) {
+                                }
+
+                                @Override
+                                public void cell(String ref, String value, XSSFComment comment) {
+                                    String text = value == null ? null : changedText.get(value.trim().toLowerCase());
+                                    if (text != null && ref.equals("A" + row)) rowText.put(row, text);
+                                }
+                            }, false));
+                    parser.parse(new InputSource(in));
+                    return sheets.getSheetPart().getPartName().getName().substring(1);
+                }
+            }
+            return null;
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Cannot read " + output.getName(), e);
+        } catch (ParserConfigurationException e) {
+            throw new IOException("No XML parser available", e);
+        }
+    }
+
+    // === Package Rewrite ===
+    // Changed parts are streamed through StAX; all other entries are copied compressed, byte for byte.
+    private static void rewrite(File output, String sheetPart, Map<Integer, String> rowText, int[] replaced,
+                                Map<String, String> sources, WorkbookWriter writer) throws IOException {
+        File tmp = new File(output.getPath() + ".tmp");
+        boolean moved = false;
+        try {
+            try (ZipFile source = new ZipFile(output);
+                 ZipArchiveOutputStream zip = writer.openZip(tmp)) {
+                Enumeration<ZipArchiveEntry> entries = source.getEntriesInPhysicalOrder();
+                while (entries.hasMoreElements()) {
+                    ZipArchiveEntry entry = entries.nextElement();
+                    if (entry.getName().equals(sheetPart)) {
+                        copyTransformed(source, entry, zip, element -> isChangedTaskCell(element, rowText),
+                                element -> taskCell(element, rowText, replaced));
+                    } else if (entry.getName().equals(CUSTOM_PROPERTIES_PART)) {
+                        copyTransformed(source, entry, zip, WorkbookUpdater::isSourcesProperty,
+                                element -> sourcesProperty(element, sources));
+                    } else {
+                        zip.addRawArchiveEntry(new ZipArchiveEntry(entry), source.getRawInputStream(entry));
+                    }
+                }
+            }
+            WorkbookWriter.moveIntoPlace(tmp, output);
+            moved = true;
+        } finally {
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    private static void copyTransformed(ZipFile source, ZipArchiveEntry entry, ZipArchiveOutputStream zip,
+                                        Predicate<StartElement> match,
+                                        Function<StartElement, List<XMLEvent>> replacement) throws IOException {
+        ZipArchiveEntry copy = new ZipArchiveEntry(entry.getName());
+        copy.setTime(entry.getTime());
+        zip.putArchiveEntry(copy);
+        try (InputStream in = source.getInputStream(entry)) {
+            transform(in, zip, match, replacement);
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot rewrite " + entry.getName(), e);
+        }
+        zip.closeArchiveEntry();
+    }
+
+    // Copies the XML, replacing each element that matches (with its whole subtree) by the replacement events
+    private static void transform(InputStream in, OutputStream out, Predicate<StartElement> match,
+                                  Function<StartElement, List<XMLEvent>> replacement) throws XMLStreamException {
+        XMLEventReader reader = XMLHelper.newXMLInputFactory().createXMLEventReader(in, "UTF-8");
+        XMLEventWriter writer = XMLHelper.newXMLOutputFactory().createXMLEventWriter(out, "UTF-8");
+        while (reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement() && match.test(event.asStartElement())) {
+                for (XMLEvent e : replacement.apply(event.asStartElement())) writer.add(e);
+                int depth = 1;
+                while (depth > 0) {
+                    XMLEvent skipped = reader.nextEvent();
+                    if (skipped.isStartElement()) depth++;
+                    if (skipped.isEndElement()) depth--;
+                }
+            } else {
+                writer.add(event);
+            }
+        }
+        writer.flush();
+    }
+
+    private static boolean isChangedTaskCell(StartElement element, Map<Integer, String> rowText) {
+        if (!"c".equals(element.getName().getLocalPart())) return false;
+        Attribute ref = element.getAttributeByName(new QName("r"));
+        if (ref == null || !ref.getValue().startsWith("B")) return false;
+        try {
+            return rowText.containsKey(Integer.parseInt(ref.getValue().substring(1)));
+        } catch (NumberFormatException e) {
+            return false;   // e.g. column BA
+        }
+    }
+
+    // <c r="B9" s=".." t="inlineStr"><is><t xml:space="preserve">text</t></is></c>, keeping the cell's style
+    private static List<XMLEvent> taskCell(StartElement cell, Map<Integer, String> rowText, int[] replaced) {
+        XMLEventFactory factory = XMLEventFactory.newInstance();
+        QName name = cell.getName();
+        String ref = cell.getAttributeByName(new QName("r")).getValue();
+        List<Attribute> attributes = new ArrayList<>();
+        attributes.add(factory.createAttribute("r", ref));
+        Attribute style = cell.getAttributeByName(new QName("s"));
+        if (style != null) attributes.add(style);
+        attributes.add(factory.createAttribute("t", "inlineStr"));
+
+        QName is = new QName(name.getNamespaceURI(), "is", name.getPrefix());
+        QName t = new QName(name.getNamespaceURI(), "t", name.getPrefix());
+        List<XMLEvent> events = new ArrayList<>();
+        events.add(factory.createStartElement(name, attributes.iterator(), cell.getNamespaces()));
+        events.add(factory.createStartElement(is, null, null));
+        events.add(factory.createStartElement(t, singleton(factory.createAttribute(
+                new QName("http://www.w3.org/XML/1998/namespace", "space", "xml"), "preserve")), null));
+        events.add(factory.createCharacters(rowText.get(Integer.parseInt(ref.substring(1)))));
+        events.add(factory.createEndElement(t, null));
+        events.add(factory.createEndElement(is, null));
+        events.add(factory.createEndElement(name, null));
+        replaced[0]++;
+        return events;
+    }
+
+    private static List<XMLEvent> sourcesProperty(StartElement property, Map<String, String> sources) {
+        XMLEventFactory factory = XMLEventFactory.newInstance();
+        QName lpwstr = new QName("http://schemas.openxmlformats.org/officeDocument/2006/docPropsVTypes", "lpwstr", "vt");
+        List<XMLEvent> events = new ArrayList<>();
+        events.add(property);
+        events.add(factory.createStartElement(lpwstr, null, null));
+        events.add(factory.createCharacters(format(sources)));
+        events.add(factory.createEndElement(lpwstr, null));
+        events.add(factory.createEndElement(property.getName(), null));
+        return events;
+    }
+
+    private static <T> Iterator<T> singleton(T value) {
+        List<T> list = new ArrayList<>(1);
+        list.add(value);
+        return list.iterator();
+    }
+}
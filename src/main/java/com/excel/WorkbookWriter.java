@@ -0,0 +1,214 @@
+package com.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+
+import org.apache.commons.compress.archivers.zip.DefaultBackingStoreSupplier;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Output stage for .xlsx files: chooses the zip compression, writes through a buffered file channel, optionally
+ * compresses the package parts on several threads, and finishes with an atomic rename.
+ *
+ * input.txt: compressionLevel=0..9 or store (default 6), compressionThreads=<n> (default 1).
+ * - 1 thread: POI writes straight into our zip stream, so the level applies without an extra pass.
+ * - n threads: POI writes the package uncompressed into a side file (a cheap copy), then every part
+ *   (sheet, shared strings, styles, ...) is compressed on its own thread and the parts are merged in order.
+ *   Pays off for range workbooks with one large sheet per month.
+ * "store" writes the parts uncompressed: largest files, least CPU, for intermediate outputs.
+ */
+public class WorkbookWriter {
+
+    public static final int STORE = Deflater.NO_COMPRESSION;
+    // Same as Deflater.DEFAULT_COMPRESSION, spelled out because the parallel compressor rejects -1
+    public static final int DEFAULT_LEVEL = 6;
+    public static final WorkbookWriter DEFAULT = new WorkbookWriter(DEFAULT_LEVEL, 1);
+
+    // Deflate output is written in small chunks; batch them into large writes
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final int level;
+    private final int threads;
+
+    public WorkbookWriter(int level, int threads) {
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compressionLevel: " + level + " (expected 0..9 or store)");
+        }
+        if (threads < 1) throw new IllegalArgumentException("Invalid compressionThreads: " + threads);
+        this.level = level;
+        this.threads = threads;
+    }
+
+    public static WorkbookWriter fromProperties(Properties props) {
+        String level = props.getProperty("compressionLevel", "").trim().toLowerCase();
+        String threads = props.getProperty("compressionThreads", "1").trim();
+        return new WorkbookWriter(level.isEmpty() ? DEFAULT_LEVEL
+                : "store".equals(level) ? STORE : Integer.parseInt(level), Integer.parseInt(threads));
+    }
+
+    /**
+     * Writes the workbook next to output and renames it into place, so readers never see a half-written file.
+     * @return bytes written
+     */
+    public long write(Workbook workbook, File output) throws IOException {
+        File tmp = new File(output.getPath() + ".tmp");
+        long start = System.nanoTime();
+        long compressNanos = -1;
+        long totalNanos;
+        boolean moved = false;
+        try {
+            if (!ownsZipStream(workbook)) {
+                // Unknown workbook type: POI picks the compression, we only buffer
+                try (OutputStream out = bufferedChannel(tmp)) {
+                    workbook.write(out);
+                }
+            } else if (threads == 1) {
+                try (ZipArchiveOutputStream zip = openZip(tmp, level)) {
+                    workbook.write(zip);
+                }
+            } else {
+                File parts = new File(output.getPath() + ".parts");
+                try {
+                    try (ZipArchiveOutputStream zip = openZip(parts, STORE)) {
+                        workbook.write(zip);
+                    }
+                    long compressStart = System.nanoTime();
+                    compressParts(parts, tmp);
+                    compressNanos = System.nanoTime() - compressStart;
+                } finally {
+                    Files.deleteIfExists(parts.toPath());
+                }
+            }
+            totalNanos = System.nanoTime() - start;
+            moveIntoPlace(tmp, output);
+            moved = true;
+        } finally {
+            // A failed write leaves no half-written file behind (in --watch it would also count as a change)
+            if (!moved) Files.deleteIfExists(tmp.toPath());
+        }
+
+        long bytes = output.length();
+        System.out.println("Wrote " + bytes + " bytes to " + output.getName() + " (" + describe() + ") in "
+                + totalNanos / 1_000_000 + " ms"
+                + (compressNanos >= 0 ? ", compressing " + compressNanos / 1_000_000 + " ms" : " incl. compression"));
+        return bytes;
+    }
+
+    // Atomic where the file system supports it, so readers see either the old or the new file
+    static void moveIntoPlace(File tmp, File output) throws IOException {
+        try {
+            Files.move(tmp.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String describe() {
+        String compression = level == STORE ? "store" : "level " + level;
+        return compression + (threads > 1 ? ", " + threads + " threads" : "");
+    }
+
+    // XSSF writes into a ZipArchiveOutputStream it is given; SXSSF only when created by newStreamingWorkbook
+    private static boolean ownsZipStream(Workbook workbook) {
+        return workbook instanceof XSSFWorkbook || workbook instanceof ZipAwareStreamingWorkbook;
+    }
+
+    // === Zip Streams ===
+    /** A zip stream into file at this writer's compression level (see {@link WorkbookUpdater}). */
+    ZipArchiveOutputStream openZip(File file) throws IOException {
+        return openZip(file, level);
+    }
+
+    private static ZipArchiveOutputStream openZip(File file, int level) throws IOException {
+        ZipArchiveOutputStream zip;
+        if (level == STORE) {
+            // STORED entries need size and CRC in the local header; a seekable channel lets the stream patch them in
+            zip = new ZipArchiveOutputStream(FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+            zip.setMethod(ZipArchiveOutputStream.STORED);
+        } else {
+            zip = new ZipArchiveOutputStream(bufferedChannel(file));
+            zip.setLevel(level);
+        }
+        return zip;
+    }
+
+    private static OutputStream bufferedChannel(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER);
+    }
+
+    // === Parallel Compression ===
+    // Each part of the stored package is deflated on the pool; parts are merged in their original order.
+    private void compressParts(File parts, File target) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // Compressed parts are buffered in java.io.tmpdir, away from the (possibly watched) output directory
+        ParallelScatterZipCreator creator = new ParallelScatterZipCreator(pool, new DefaultBackingStoreSupplier(null), level);
+
+        // Reads of different entries use positional channel reads, so suppliers may run concurrently
+        try (ZipFile source = new ZipFile(parts);
+             ZipArchiveOutputStream zip = openZip(target, level)) {
+            Enumeration<ZipArchiveEntry> entries = source.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry part = entries.nextElement();
+                ZipArchiveEntry entry = new ZipArchiveEntry(part.getName());
+                entry.setMethod(level == STORE ? ZipArchiveEntry.STORED : ZipArchiveEntry.DEFLATED);
+                entry.setTime(part.getTime());
+                creator.addArchiveEntry(entry, () -> {
+                    try {
+                        return source.getInputStream(part);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Cannot read " + part.getName() + " from " + parts, e);
+                    }
+                });
+            }
+            creator.writeTo(zip);   // waits for the pool and shuts it down
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing " + target, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compressing " + target + " failed", e.getCause());
+        } finally {
+            pool.shutdownNow();   // normally already shut down by writeTo
+        }
+    }
+
+    // === Streaming Workbooks ===
+    /** An SXSSFWorkbook whose output honours the compression chosen here (see {@link #write}). */
+    public static SXSSFWorkbook newStreamingWorkbook(int rowWindow) {
+        return new ZipAwareStreamingWorkbook(rowWindow);
+    }
+
+    private static class ZipAwareStreamingWorkbook extends SXSSFWorkbook {
+        ZipAwareStreamingWorkbook(int rowWindow) {
+            super(rowWindow);
+        }
+
+        @Override
+        protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+            // Write into the caller's zip stream instead of nesting a second archive inside it
+            return out instanceof ZipArchiveOutputStream ? (ZipArchiveOutputStream) out : super.createArchiveOutputStream(out);
+        }
+    }
+}
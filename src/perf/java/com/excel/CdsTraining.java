@@ -0,0 +1,88 @@
+package com.excel;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Training run of the fast-start profile (mvn -Pfast-start package):
+ * <pre>
+ * java -cp &lt;jar&gt;:&lt;perf classes&gt; com.excel.CdsTraining &lt;jar&gt; &lt;jsa&gt; &lt;training dir&gt;
+ * </pre>
+ * Prepares one TestFileCreator fixture per common configuration, then dumps the AppCDS archive from a "--batch"
+ * run over all of them, so the archive holds the classes a real run loads: single month and quarter layouts,
+ * in-memory and streaming workbooks, parallel compression, CSV/NDJSON, the parse cache, the Jira index and the
+ * in-place update. The archiving JVM gets the JAR alone as class path, like the launcher, otherwise the archive
+ * is rejected; that is why this class (outside the JAR) only prepares the fixtures.
+ */
+public class CdsTraining {
+
+    private static final long SEED = 20250801L;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: CdsTraining <jar> <jsa> <training dir>");
+            System.exit(2);
+        }
+        String jar = new File(args[0]).getAbsolutePath();
+        String jsa = new File(args[1]).getAbsolutePath();
+        File root = new File(args[2]).getAbsoluteFile();
+        // Start from an empty directory so the month fixture parses every log (no cache hits)
+        deleteTree(root);
+
+        // Cold parse, in-memory workbook
+        fixture(root, "month", "");
+        // Cached parse, streaming workbook, parallel compression, every renderer
+        File streaming = fixture(root, "streaming", "");
+        MonthExcelGenerator.generate(streaming, new RunMetrics("cds-training"), new Properties());
+        append(new File(streaming, "input.txt"), "outputMode=" + MonthExcelGenerator.MODE_STREAMING
+                + "\ncompressionThreads=2\nrenderers=excel,csv,ndjson\n");
+        // Range with summary sheet
+        fixture(root, "quarter", "quarter=3\n");
+        // In-place update of one changed day
+        File update = fixture(root, "update", "");
+        MonthExcelGenerator.generate(update, new RunMetrics("cds-training"), new Properties());
+        append(new File(update, "aug_04_2025.txt"), "Training update\n");
+        append(new File(update, "input.txt"), "updateExisting=true\n");
+
+        List<String> command = new ArrayList<>(Arrays.asList(
+                new File(System.getProperty("java.home"), "bin/java").getPath(),
+                "-XX:ArchiveClassesAtExit=" + jsa,
+                // Classes CDS cannot archive (generated accessors, JFR events) are expected
+                "-Xlog:cds=off", "-Xlog:cds+dynamic=off", "-Djava.awt.headless=true",
+                "-cp", jar, MonthExcelGenerator.class.getName(), "--batch", root.getPath(), "1"));
+        int exit = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exit != 0) {
+            System.err.println("Training run failed (exit " + exit + ")");
+            System.exit(1);
+        }
+        System.out.println("Training run finished in " + root.getPath() + ", archive " + jsa);
+    }
+
+    private static File fixture(File root, String name, String settings) throws IOException {
+        File dir = new File(root, name);
+        dir.mkdirs();
+        TestFileCreator.generate(dir, SEED, 31, 0, 0);
+        try (FileWriter input = new FileWriter(new File(dir, "input.txt"))) {
+            input.write("name=Training Run\nmanagerName=Build\nemployeeId=0\nprojectName=CDS\nmonth=8\nyear=2025\n");
+            input.write(settings);
+        }
+        return dir;
+    }
+
+    private static void append(File file, String text) throws IOException {
+        try (FileWriter out = new FileWriter(file, true)) {
+            out.write(text);
+        }
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) for (File child : children) deleteTree(child);
+        file.delete();
+    }
+}
@@ -0,0 +1,301 @@
+package com.excel;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * End-to-end performance regression suite: the real MonthExcelGenerator flow on TestFileCreator datasets.
+ * <pre>
+ * java -cp &lt;jar&gt;:&lt;perf classes&gt; com.excel.PerfSuite &lt;baseline.properties&gt; &lt;work dir&gt; [runs] [update]
+ * </pre>
+ * Each scenario's dataset is generated once, then every run is a fresh JVM on the untouched dataset (outputs,
+ * parse cache and Jira index of the previous run are removed first). Per scenario the median wall time (JVM
+ * start to exit), the median peak RSS (VmHWM, Linux only) and the bytes written are compared with the baseline
+ * file; a metric above baseline * (1 + tolerance) is a regression and the suite exits with 1. With "update" the
+ * measured values are written to the baseline file instead. Run by the perf profile; process output goes to
+ * perf.log in the work directory.
+ */
+public class PerfSuite {
+
+    static final String[] METRICS = {"wall_ms", "peak_rss_kb", "output_bytes"};
+    private static final double[] DEFAULT_TOLERANCES = {0.50, 0.25, 0.05};
+    // Same heap and collector on every machine, so peak RSS does not follow the machine's memory and core count
+    private static final String[] CHILD_JVM_OPTIONS = {"-Djava.awt.headless=true", "-Xmx512m", "-XX:+UseSerialGC"};
+    private static final String MEASURE = "--measure";
+
+    // === Scenarios ===
+    private static class Scenario {
+        final String name;
+        // TestFileCreator.Shape keys, extra input.txt lines, generator arguments ("{root}" is the dataset root)
+        final String shape;
+        final String input;
+        final String[] args;
+
+        Scenario(String name, String shape, String input, String... args) {
+            this.name = name;
+            this.shape = shape;
+            this.input = input;
+            this.args = args;
+        }
+    }
+
+    private static final Scenario[] SCENARIOS = {
+            new Scenario("month", "seed=1", ""),
+            new Scenario("quarter-streaming", "seed=2 start=2025-07 months=3 tasks=2..6 lineLength=120 jiras=0..3 junkFiles=8",
+                    "outputMode=streaming\nrenderers=excel,csv,ndjson\n"),
+            new Scenario("batch", "seed=3 employees=16", "", "--batch", "{root}", "2"),
+            new Scenario("huge-log", "seed=4 hugeFiles=2 hugeFileMB=64", ""),
+            new Scenario("archive", "seed=5 archivedMonths=1200", ""),
+            new Scenario("rollup", "seed=6 employees=24 start=2025-07 months=3 projects=HDAG:4,HCAG:2,APIGW:1,KAFKA:1",
+                    "", "--rollup", "{root}", "2"),
+    };
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && MEASURE.equals(args[0])) {
+            measure(args);
+            return;
+        }
+        if (args.length < 2) {
+            System.err.println("Usage: PerfSuite <baseline.properties> <work dir> [runs] [update]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File work = new File(args[1]).getAbsoluteFile();
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+        work.mkdirs();
+        File log = new File(work, "perf.log");
+        log.delete();
+
+        Properties baseline = new Properties();
+        if (baselineFile.isFile()) {
+            try (InputStream in = new FileInputStream(baselineFile)) {
+                baseline.load(in);
+            }
+        }
+
+        System.out.println("=== Performance Suite (" + runs + " runs per scenario, " + work.getPath() + ") ===");
+        Map<String, long[]> measured = new LinkedHashMap<>();
+        int regressions = 0;
+        for (Scenario scenario : SCENARIOS) {
+            long[] values = run(scenario, new File(work, scenario.name), runs, log);
+            measured.put(scenario.name, values);
+            regressions += compare(scenario.name, values, baseline, update);
+        }
+
+        if (update) {
+            writeBaseline(baselineFile, baseline, measured);
+            System.out.println("Baseline written to " + baselineFile.getPath());
+        } else if (regressions > 0) {
+            System.err.println(regressions + " metric(s) regressed past the baseline in " + baselineFile.getPath());
+            System.exit(1);
+        } else {
+            System.out.println("No regressions against " + baselineFile.getPath());
+        }
+    }
+
+    // === One Scenario ===
+    // Returns the medians of wall_ms and peak_rss_kb, and output_bytes of the last run
+    private static long[] run(Scenario scenario, File root, int runs, File log) throws Exception {
+        deleteTree(root);
+        Properties shape = new Properties();
+        shape.load(new StringReader(scenario.shape.replace(' ', '\n')));
+        List<File> employees = TestFileCreator.generateDataset(root, TestFileCreator.Shape.fromProperties(shape));
+        if (!scenario.input.isEmpty()) {
+            for (File dir : employees) {
+                try (Writer input = new FileWriter(new File(dir, "input.txt"), true)) {
+                    input.write(scenario.input);
+                }
+            }
+        }
+        Set<String> dataset = new HashSet<>();
+        collect(root, dataset);
+        // Single-employee scenarios run inside the employee directory, like a user would
+        File workingDir = scenario.args.length == 0 ? employees.get(0) : root;
+        File rssFile = new File(root.getParentFile(), scenario.name + ".rss");
+
+        long[] wall = new long[runs];
+        long[] rss = new long[runs];
+        long output = 0;
+        for (int i = 0; i < runs; i++) {
+            clean(root, dataset);
+            rssFile.delete();
+            long begin = System.nanoTime();
+            int exit = start(workingDir, log, command(rssFile, scenario, root)).waitFor();
+            wall[i] = (System.nanoTime() - begin) / 1_000_000;
+            if (exit != 0) throw new IllegalStateException(scenario.name + " failed (exit " + exit + "), see " + log.getPath());
+            rss[i] = readLong(rssFile);
+            output = outputBytes(root, dataset);
+        }
+        Arrays.sort(wall);
+        Arrays.sort(rss);
+        return new long[]{BatchMetrics.percentile(wall, 0.5), BatchMetrics.percentile(rss, 0.5), output};
+    }
+
+    private static List<String> command(File rssFile, Scenario scenario, File root) {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.addAll(Arrays.asList(CHILD_JVM_OPTIONS));
+        command.add("-cp");
+        // Absolute, as the child runs in the dataset directory
+        List<String> classPath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classPath.add(new File(entry).getAbsolutePath());
+        }
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add(PerfSuite.class.getName());
+        command.add(MEASURE);
+        command.add(rssFile.getAbsolutePath());
+        for (String arg : scenario.args) command.add(arg.replace("{root}", root.getPath()));
+        return command;
+    }
+
+    private static Process start(File dir, File log, List<String> command) throws IOException {
+        return new ProcessBuilder(command).directory(dir).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log)).start();
+    }
+
+    // === Child JVM ===
+    // PerfSuite --measure <rss file> [generator args]: the generator's main, with the peak RSS written on exit
+    private static void measure(String[] args) throws Exception {
+        File rssFile = new File(args[1]);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (Writer out = new FileWriter(rssFile)) {
+                out.write(String.valueOf(peakRssKb()));
+            } catch (IOException e) {
+                System.err.println("Could not write " + rssFile + ": " + e.getMessage());
+            }
+        }));
+        MonthExcelGenerator.main(Arrays.copyOfRange(args, 2, args.length));
+    }
+
+    // VmHWM of this process in KiB, -1 where /proc is not available
+    static long peakRssKb() {
+        File status = new File("/proc/self/status");
+        if (!status.isFile()) return -1;
+        try (BufferedReader reader = new BufferedReader(new FileReader(status))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("VmHWM:")) return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    // === Baseline ===
+    private static int compare(String scenario, long[] values, Properties baseline, boolean update) {
+        int regressions = 0;
+        StringBuilder line = new StringBuilder(String.format("%-18s", scenario));
+        for (int m = 0; m < METRICS.length; m++) {
+            String key = scenario + "." + METRICS[m];
+            line.append(String.format("   %s %,d", METRICS[m], values[m]));
+            String stored = baseline.getProperty(key);
+            if (stored == null || values[m] < 0) {
+                line.append(" (no baseline)");
+                continue;
+            }
+            long expected = Long.parseLong(stored.trim());
+            double tolerance = Double.parseDouble(baseline.getProperty("tolerance." + METRICS[m],
+                    String.valueOf(DEFAULT_TOLERANCES[m])).trim());
+            long limit = (long) Math.ceil(expected * (1 + tolerance));
+            line.append(String.format(" (baseline %,d)", expected));
+            if (!update && values[m] > limit) {
+                line.append(" REGRESSION > ").append(String.format("%,d", limit));
+                regressions++;
+            }
+        }
+        (regressions > 0 ? System.err : System.out).println(line);
+        return regressions;
+    }
+
+    private static void writeBaseline(File file, Properties old, Map<String, long[]> measured) throws IOException {
+        Map<String, String> values = new TreeMap<>();
+        for (Map.Entry<String, long[]> e : measured.entrySet()) {
+            for (int m = 0; m < METRICS.length; m++) {
+                String key = e.getKey() + "." + METRICS[m];
+                // Not measurable here (peak RSS off Linux): keep what was there
+                if (e.getValue()[m] >= 0) values.put(key, String.valueOf(e.getValue()[m]));
+                else if (old.containsKey(key)) values.put(key, old.getProperty(key).trim());
+            }
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) parent.mkdirs();
+        try (Writer out = new FileWriter(file)) {
+            out.write("# PerfSuite baseline (mvn -Pperf verify -Dperf.update=true rewrites the measured values).\n");
+            out.write("# A metric fails when it exceeds baseline * (1 + tolerance.<metric>).\n");
+            for (int m = 0; m < METRICS.length; m++) {
+                String key = "tolerance." + METRICS[m];
+                out.write(key + "=" + old.getProperty(key, String.valueOf(DEFAULT_TOLERANCES[m])).trim() + "\n");
+            }
+            for (Map.Entry<String, String> e : values.entrySet()) {
+                out.write(e.getKey() + "=" + e.getValue() + "\n");
+            }
+        }
+    }
+
+    // === Dataset Bookkeeping ===
+    private static void collect(File dir, Set<String> paths) {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            paths.add(file.getPath());
+            if (file.isDirectory()) collect(file, paths);
+        }
+    }
+
+    // Removes everything a previous run added (worksheets, overflow files, caches, indexes, metrics)
+    private static void clean(File dir, Set<String> dataset) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (!dataset.contains(file.getPath())) deleteTree(file);
+            else if (file.isDirectory()) clean(file, dataset);
+        }
+    }
+
+    // Bytes of everything the run added, apart from hidden state files and run metrics
+    private static long outputBytes(File dir, Set<String> dataset) {
+        long bytes = 0;
+        File[] files = dir.listFiles();
+        if (files == null) return 0;
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                bytes += outputBytes(file, dataset);
+            } else if (!dataset.contains(file.getPath()) && !name.startsWith(".") && !name.contains("-metrics.")) {
+                bytes += file.length();
+            }
+        }
+        return bytes;
+    }
+
+    private static long readLong(File file) throws IOException {
+        if (!file.isFile()) return -1;
+        return Long.parseLong(new String(Files.readAllBytes(file.toPath())).trim());
+    }
+
+    private static void deleteTree(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) for (File child : children) deleteTree(child);
+        Files.deleteIfExists(file.toPath());
+    }
+}
@@ -0,0 +1,137 @@
+package com.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cold versus warm start-up of one single-month run, each in a fresh JVM (JMH cannot measure JVM start-up):
+ * <pre>
+ * java -cp &lt;jar&gt;:&lt;perf classes&gt; com.excel.StartupBenchmark &lt;jar&gt; &lt;jsa&gt; &lt;fixture dir&gt; [runs]
+ * </pre>
+ * Modes: plain "java -jar" (JDK class-data sharing only), with the AppCDS archive, with the archive and C1 only
+ * (what the fast-start launcher uses), and a job sent to an already warm "--serve" JVM. Run by the fast-start
+ * profile after the training run; process output goes to startup-benchmark.log in the fixture directory.
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: StartupBenchmark <jar> <jsa> <fixture dir> [runs]");
+            System.exit(2);
+        }
+        String jar = new File(args[0]).getAbsolutePath();
+        String jsa = new File(args[1]).getAbsolutePath();
+        File dir = new File(args[2]).getAbsoluteFile();
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        File log = new File(dir, "startup-benchmark.log");
+        log.delete();
+
+        System.out.println("=== Start-up Benchmark (" + runs + " runs per mode, " + dir.getPath() + ") ===");
+        report("cold JVM", timeJvm(runs, dir, log, command(jar)));
+        report("AppCDS", timeJvm(runs, dir, log, command(jar, "-XX:SharedArchiveFile=" + jsa)));
+        report("AppCDS + C1 (launcher)", timeJvm(runs, dir, log,
+                command(jar, "-XX:SharedArchiveFile=" + jsa, "-XX:TieredStopAtLevel=1")));
+        report("warm server job", timeServer(runs, dir, log, jar));
+    }
+
+    private static List<String> command(String jar, String... jvmOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.add("-Djava.awt.headless=true");
+        command.addAll(Arrays.asList(jvmOptions));
+        command.add("-jar");
+        command.add(jar);
+        return command;
+    }
+
+    // === Fresh JVM per run ===
+    private static long[] timeJvm(int runs, File dir, File log, List<String> command)
+            throws IOException, InterruptedException {
+        start(dir, log, command).waitFor();   // not timed: fills the OS page cache and the parse cache
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long begin = System.nanoTime();
+            int exit = start(dir, log, command).waitFor();
+            millis[i] = (System.nanoTime() - begin) / 1_000_000;
+            if (exit != 0) throw new IllegalStateException("Run failed (exit " + exit + "), see " + log.getPath());
+        }
+        return millis;
+    }
+
+    // === Warm JVM ===
+    private static long[] timeServer(int runs, File dir, File log, String jar) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = command(jar);
+        command.addAll(Arrays.asList("--serve", String.valueOf(port), "1", "1"));
+        Process server = start(dir, log, command);
+        try {
+            String base = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port;
+            while (!healthy(base)) {
+                if (!server.isAlive()) throw new IllegalStateException("Server did not start, see " + log.getPath());
+                Thread.sleep(100);
+            }
+            post(base, dir);
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long begin = System.nanoTime();
+                post(base, dir);
+                millis[i] = (System.nanoTime() - begin) / 1_000_000;
+            }
+            return millis;
+        } finally {
+            server.destroy();
+            server.waitFor();
+        }
+    }
+
+    private static boolean healthy(String base) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(base + "/health").openConnection();
+            return connection.getResponseCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void post(String base, File dir) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(base + "/jobs").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            // Properties format: backslashes in Windows paths must be escaped
+            out.write(("dir=" + dir.getPath().replace("\\", "\\\\") + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            while (in != null && in.read() >= 0) {
+                // drain so the connection can be reused
+            }
+        }
+        if (status != 200) throw new IllegalStateException("Server job failed with " + status);
+    }
+
+    private static Process start(File dir, File log, List<String> command) throws IOException {
+        return new ProcessBuilder(command).directory(dir).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log)).start();
+    }
+
+    private static void report(String mode, long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.println(String.format("%-24s min %6d ms   median %6d ms", mode, sorted[0],
+                BatchMetrics.percentile(sorted, 0.5)));
+    }
+}
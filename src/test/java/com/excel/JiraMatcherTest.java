@@ -0,0 +1,140 @@
+package com.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JiraMatcher against the regex it replaced: every input must yield the same tickets, in the same order, both when
+ * scanned whole and when scanned in windows the way LogReader reads long lines.
+ */
+class JiraMatcherTest {
+
+    private static final Pattern JIRA_PATTERN = Pattern.compile("(?i)\\bjira\\s+([a-zA-Z]+)[- ]?(\\d+)\\b");
+    private static final List<String> PROJECTS = Arrays.asList("HDAG", "HCAG", "ESB", "KAFKA");
+
+    // Pieces random lines are built from: mention parts, near misses, separators and \b edge cases
+    private static final String[] TOKENS = {"jira", "JIRA", "Jira", "jIrA", "xjira", "jira_", "_jira", "jir", "ira",
+            "hdag", "HDAG", "HdAg", "esb", "ESB", "kafka", "HCA", "HCAGX", "ABC", "ohab", "hd", "ag",
+            "12", "7", "007", "123456", "1_", "x", "_", "-", "--", " ", "  ", "\t", "\u000B", "\f", "\r",
+            ".", ",", ":", "(", ")", "#", "\u00E9", "\u00DF", "\u0301", "\u0663", "\uD835\uDC00", "\u0301\u0301", "e\u0301\u0301", "?"};
+
+    // === Reference ===
+    private static List<String> regexTickets(String text) {
+        Set<String> allowed = new HashSet<>(PROJECTS);
+        List<String> tickets = new ArrayList<>();
+        Matcher matcher = JIRA_PATTERN.matcher(text);
+        while (matcher.find()) {
+            String project = matcher.group(1).toUpperCase();
+            if (allowed.contains(project)) tickets.add(project + "-" + matcher.group(2));
+        }
+        return tickets;
+    }
+
+    private static List<String> scanTickets(String text) {
+        List<String> tickets = new ArrayList<>();
+        new JiraMatcher(PROJECTS).scan(text, tickets);
+        return tickets;
+    }
+
+    // Feeds text in chunks of window chars, keeping the carry LogReader keeps between windows
+    private static List<String> windowedTickets(String text, int window) {
+        JiraMatcher matcher = new JiraMatcher(PROJECTS);
+        List<String> tickets = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        int scanFrom = 0;
+        for (int pos = 0; pos < text.length(); pos += window) {
+            line.append(text, pos, Math.min(text.length(), pos + window));
+            int resume = matcher.scanWindow(line, scanFrom, tickets);
+            int carry = JiraMatcher.keepFrom(line, resume);
+            line.delete(0, carry);
+            scanFrom = resume - carry;
+        }
+        matcher.scanTail(line, scanFrom, tickets);
+        return tickets;
+    }
+
+    private static void assertSameAsRegex(String text) {
+        List<String> expected = regexTickets(text);
+        assertEquals(expected, scanTickets(text), () -> "scan of " + printable(text));
+        for (int window = 1; window <= 12; window++) {
+            final int w = window;
+            assertEquals(expected, windowedTickets(text, window), () -> "window " + w + " of " + printable(text));
+        }
+    }
+
+    private static String printable(String text) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c >= ' ' && c < 0x7F) out.append(c);
+            else out.append(String.format("\\u%04X", (int) c));
+        }
+        return out.append('"').toString();
+    }
+
+    // === Cases ===
+    @Test
+    void separators() {
+        assertEquals(Arrays.asList("HDAG-12", "HDAG-13", "HDAG-14"), scanTickets("jira HDAG-12 jira HDAG 13 jira HDAG14"));
+        assertSameAsRegex("jira HDAG-12 jira HDAG 13 jira HDAG14 jira HDAG--15 jira HDAG  16 jira HDAG -17");
+    }
+
+    @Test
+    void whitespaceAfterJira() {
+        assertSameAsRegex("jira\tHDAG-1 jira\n\nESB 2 jira\r\nKAFKA-3 jira\u000B\fHCAG 4 jiraHDAG-5 jira HDAG-6");
+    }
+
+    @Test
+    void mixedCase() {
+        assertEquals(Arrays.asList("HDAG-1", "ESB-2", "KAFKA-3"), scanTickets("JIRA hdag-1, Jira Esb 2; jIrA kAfKa3"));
+        assertSameAsRegex("JIRA hdag-1, Jira Esb 2; jIrA kAfKa3 JiRa HcAg-0004");
+    }
+
+    @Test
+    void keysOutsideJiraProjects() {
+        assertEquals(Arrays.asList("ESB-3"), scanTickets("jira OHAB-1 jira HDA-2 jira ESB-3 jira HDAGX-4 jira APIGW 5"));
+        assertSameAsRegex("jira OHAB-1 jira HDA-2 jira ESB-3 jira HDAGX-4 jira APIGW 5 jira H-6");
+    }
+
+    @Test
+    void wordBoundaries() {
+        assertSameAsRegex("xjira HDAG-1 _jira HDAG-2 9jira HDAG-3 \u00E9jira HDAG-4 (jira HDAG-5) jira HDAG-6x "
+                + "jira HDAG-7_ jira HDAG-8\u00E9 jira HDAG-9\u0301 e\u0301jira HDAG-10 .\u0301jira HDAG-11 "
+                + "jira HDAG-12\u0663 jira HDAG-13, jira HDAG-14");
+        assertEquals(Arrays.asList("HDAG-5", "HDAG-13"), scanTickets("xjira HDAG-1 (jira HDAG-5) jira HDAG-6x jira HDAG-13,"));
+    }
+
+    @Test
+    void mentionsAcrossWindowBoundaries() {
+        String mention = "x jira  HDAG-1234 y";
+        // Every split point of a mention, for every window size up to its length
+        for (int pad = 0; pad < mention.length(); pad++) {
+            char[] filler = new char[pad];
+            Arrays.fill(filler, '.');
+            String text = new String(filler) + mention + " jira esb 7";
+            for (int window = 1; window <= text.length(); window++) {
+                assertEquals(regexTickets(text), windowedTickets(text, window), "window " + window + ", pad " + pad);
+            }
+        }
+    }
+
+    @Test
+    void randomLinesMatchRegex() {
+        Random random = new Random(20250806L);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int tokens = 1 + random.nextInt(24);
+            for (int t = 0; t < tokens; t++) text.append(TOKENS[random.nextInt(TOKENS.length)]);
+            assertSameAsRegex(text.toString());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * LogReader against a whole-file reference: the cell lines, the overflow file and the tickets must be the same
+ * wherever a line break, a UTF-8 sequence or a Jira mention falls relative to the read buffer and the day budget.
+ */
+class LogReaderTest {
+
+    private static final Pattern JIRA_PATTERN = Pattern.compile("(?i)\\bjira\\s+([a-zA-Z]+)[- ]?(\\d+)\\b");
+    private static final List<String> PROJECTS = Arrays.asList("HDAG", "HCAG", "ESB", "KAFKA");
+    // Large enough that nothing overflows
+    private static final int NO_BUDGET = 1 << 20;
+
+    @TempDir
+    File dir;
+
+    // === Reference ===
+    // BufferedReader.readLine() line breaks, blank lines dropped, lines kept until the budget and cut there
+    private static final class Expected {
+        final List<String> lines = new ArrayList<>();
+        final StringBuilder overflow = new StringBuilder();
+        // Line breaks written to the overflow file are not counted
+        long overflowChars;
+        final Set<String> tickets = new LinkedHashSet<>();
+    }
+
+    private static Expected expected(String text, int budget) {
+        Expected expected = new Expected();
+        Set<String> allowed = new HashSet<>(PROJECTS);
+        int used = 0;
+        boolean full = false;
+        List<String> lines = new ArrayList<>(Arrays.asList(text.split("\r\n|\r|\n", -1)));
+        if (lines.get(lines.size() - 1).isEmpty()) lines.remove(lines.size() - 1);
+        for (String line : lines) {
+            Matcher matcher = JIRA_PATTERN.matcher(line);
+            while (matcher.find()) {
+                String project = matcher.group(1).toUpperCase();
+                if (allowed.contains(project)) expected.tickets.add(project + "-" + matcher.group(2));
+            }
+            if (line.trim().isEmpty()) continue;
+            int room = full ? 0 : Math.max(0, budget - used - (expected.lines.isEmpty() ? 0 : 1));
+            int take = Math.min(line.length(), room);
+            if (take > 0) {
+                used += (expected.lines.isEmpty() ? 0 : 1) + take;
+                expected.lines.add(line.substring(0, take));
+            }
+            if (take < line.length()) {
+                expected.overflow.append(line, take, line.length()).append('\n');
+                expected.overflowChars += line.length() - take;
+                full = true;
+            }
+        }
+        return expected;
+    }
+
+    private void assertReadsLikeReference(String text, int budget, String context) throws IOException {
+        File log = new File(dir, "aug_04_2025.txt");
+        File overflowFile = new File(dir, "overflow/aug_04_2025.txt");
+        Files.write(log.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        ParsedLog parsed = new LogReader(new JiraMatcher(PROJECTS), budget).read(log, "aug_04_2025", overflowFile);
+
+        Expected expected = expected(text, budget);
+        assertEquals(expected.lines, parsed.getLines(), context);
+        assertEquals(new ArrayList<>(expected.tickets), parsed.getTickets(), context);
+        assertEquals(expected.overflowChars, parsed.getOverflowChars(), context);
+        if (expected.overflow.length() == 0) {
+            assertFalse(overflowFile.exists(), context);
+        } else {
+            assertEquals(expected.overflow.toString(),
+                    new String(Files.readAllBytes(overflowFile.toPath()), StandardCharsets.UTF_8), context);
+        }
+        assertFalse(new File(overflowFile.getPath() + ".tmp").exists(), context);
+    }
+
+    // ASCII task lines of exactly length bytes
+    private static String filler(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int n = 0; length - text.length() > 100; n++) {
+            String line = "task " + n + " jira HDAG-" + n + " ";
+            text.append(line);
+            for (int i = line.length(); i < 99; i++) text.append('.');
+            text.append('\n');
+        }
+        while (text.length() < length - 1) text.append('.');
+        if (text.length() < length) text.append('\n');
+        return text.toString();
+    }
+
+    private static String repeat(String text, int length) {
+        StringBuilder out = new StringBuilder(length);
+        while (out.length() < length) out.append(text);
+        out.setLength(length);
+        return out.toString();
+    }
+
+    // === Cases ===
+    @Test
+    void carriageReturnAtTheEndOfABuffer() throws IOException {
+        String head = filler(LogReader.BUFFER_SIZE - 20) + repeat("last line ", 19);
+        assertEquals(LogReader.BUFFER_SIZE - 1, head.length());
+
+        // \r\n split across two reads: the \n must not start another line
+        assertReadsLikeReference(head + "\r\nafter the break jira ESB-7\r\n", NO_BUDGET, "CRLF");
+        // A lone \r: the next read starts a line of its own, first char included
+        assertReadsLikeReference(head + "\rjira KAFKA-9 after a lone CR\r\n", NO_BUDGET, "CR");
+        // \r\r\n: a blank line in between, still only two lines
+        assertReadsLikeReference(head + "\r\r\njira HCAG-3\n", NO_BUDGET, "CR CRLF");
+        // The same across the budget
+        assertReadsLikeReference(head + "\r\nafter the break jira ESB-7\r\nand one more\r\n", 100, "CRLF over budget");
+    }
+
+    @Test
+    void multiByteCharacterSplitAcrossReads() throws IOException {
+        // 2, 3 and 4 byte UTF-8 sequences, the last one a surrogate pair
+        for (String c : new String[] {"\u00E9", "\u20AC", "\uD83D\uDE00"}) {
+            int bytes = c.getBytes(StandardCharsets.UTF_8).length;
+            for (int before = 1; before < bytes; before++) {
+                String mention = "see jira HDAG-77";
+                String text = filler(LogReader.BUFFER_SIZE - before - mention.length()) + mention + c
+                        + " done jira ESB-8\n" + c + "\n";
+                String context = "U+" + Integer.toHexString(c.codePointAt(0)) + " split after byte " + before;
+                assertReadsLikeReference(text, NO_BUDGET, context);
+                assertReadsLikeReference(text, 50, context + ", over budget");
+
+                List<String> lines = new LogReader(new JiraMatcher(PROJECTS), NO_BUDGET).read(
+                        new File(dir, "aug_04_2025.txt"), "aug_04_2025", new File(dir, "overflow/x.txt")).getLines();
+                assertTrue(lines.contains(mention + c + " done jira ESB-8"), context);
+                assertFalse(String.join("\n", lines).contains("\uFFFD"), context);
+            }
+        }
+    }
+
+    @Test
+    void mentionAcrossTheWindowsOfALongLine() throws IOException {
+        String mention = "jira  HDAG-4242";
+        // One line of several reads; the read boundary falls at every position of the mention
+        for (int split = 0; split <= mention.length(); split++) {
+            String text = repeat("word ", LogReader.BUFFER_SIZE - split) + mention + " "
+                    + repeat("more ", 3 * LogReader.SCAN_WINDOW) + "jira ESB-1\nnext jira KAFKA-2\n";
+            assertTrue(text.indexOf('\n') > LogReader.BUFFER_SIZE + LogReader.SCAN_WINDOW);
+            assertReadsLikeReference(text, NO_BUDGET, "split " + split);
+            // Cut inside the first window, then inside the mention's window
+            assertReadsLikeReference(text, 10000, "split " + split + ", budget 10000");
+            assertReadsLikeReference(text, LogReader.BUFFER_SIZE - split + 5, "split " + split + ", budget at mention");
+        }
+    }
+
+    @Test
+    void budgetReachedMidLine() throws IOException {
+        String text = "first line jira HDAG-1\n\n"
+                + "second line, long enough to cross the budget jira ESB-2\r\n"
+                + "   \n"
+                + "third jira KAFKA-3\n";
+        assertReadsLikeReference(text, 50, "budget 50");
+
+        File log = new File(dir, "aug_04_2025.txt");
+        File overflowFile = new File(dir, "overflow/aug_04_2025.txt");
+        ParsedLog parsed = new LogReader(new JiraMatcher(PROJECTS), 50).read(log, "aug_04_2025", overflowFile);
+        assertEquals(Arrays.asList("first line jira HDAG-1", "second line, long enough to"), parsed.getLines());
+        assertEquals(" cross the budget jira ESB-2\nthird jira KAFKA-3\n",
+                new String(Files.readAllBytes(overflowFile.toPath()), StandardCharsets.UTF_8));
+        // Tickets are matched in the overflowing part too
+        assertEquals(Arrays.asList("HDAG-1", "ESB-2", "KAFKA-3"), parsed.getTickets());
+
+        // Exactly at the budget, and a budget ending right after the separator
+        assertReadsLikeReference(text, 22, "budget 22");
+        assertReadsLikeReference(text, 23, "budget 23");
+
+        // The day fits again: the old overflow file is removed
+        parsed = new LogReader(new JiraMatcher(PROJECTS), NO_BUDGET).read(log, "aug_04_2025", overflowFile);
+        assertEquals(0, parsed.getOverflowChars());
+        assertFalse(overflowFile.exists());
+        assertEquals(Collections.emptyList(), Arrays.asList(overflowFile.getParentFile().list()));
+    }
+}
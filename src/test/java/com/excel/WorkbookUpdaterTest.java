@@ -0,0 +1,246 @@
+package com.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * In-place updates against full rebuilds: a changed, added or deleted day's log rewrites only that day's task cell
+ * and leaves styles and manual edits alone; anything the cell patch cannot express falls back to a rebuild.
+ */
+class WorkbookUpdaterTest {
+
+    // August 2025 with the standard calendar: the 3rd is a Sunday, the 4th..8th are working days
+    private static final String INPUT = "name=Test Person\nmanagerName=Manager\nemployeeId=42\nprojectName=Worksheet\n"
+            + "month=8\nyear=2025\nmetrics=off\n";
+    private static final int MANUAL_COLUMN = 10;
+
+    @TempDir
+    File dir;
+
+    // === Helpers ===
+    private void write(String name, String text) throws IOException {
+        Files.write(new File(dir, name).toPath(), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private File build(String settings) throws IOException {
+        write("input.txt", INPUT + settings);
+        write("aug_04_2025.txt", "Reviewed jira HDAG-1\n");
+        write("aug_05_2025.txt", "Fixed build\n");
+        write("aug_07_2025.txt", "Wrote docs\n");
+        return MonthExcelGenerator.generate(dir, new RunMetrics("build"));
+    }
+
+    // Runs with updateExisting=true; true when the workbook was patched, false when it was rebuilt
+    private boolean update() throws IOException {
+        RunMetrics metrics = new RunMetrics("update");
+        Properties overrides = new Properties();
+        overrides.setProperty("updateExisting", "true");
+        MonthExcelGenerator.generate(dir, metrics, overrides);
+        return !metrics.getPhaseNanos().containsKey("excel.write");
+    }
+
+    private static Row dayRow(Sheet sheet, int day) {
+        return sheet.getRow(MonthExcelGenerator.FIRST_DATE_ROW + day - 1);
+    }
+
+    private static List<String> taskTexts(File output) throws IOException {
+        try (InputStream in = new FileInputStream(output); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            List<String> texts = new ArrayList<>();
+            for (int day = 1; day <= 31; day++) texts.add(dayRow(sheet, day).getCell(1).getStringCellValue());
+            return texts;
+        }
+    }
+
+    // A note in a bold cell of the 1st's row, like a reviewer would add by hand
+    private static void addManualEdit(File output) throws IOException {
+        try (InputStream in = new FileInputStream(output); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            Cell note = dayRow(workbook.getSheetAt(0), 1).createCell(MANUAL_COLUMN);
+            note.setCellValue("checked");
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            CellStyle style = workbook.createCellStyle();
+            style.setFont(bold);
+            note.setCellStyle(style);
+            try (OutputStream out = new FileOutputStream(output)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    private static boolean hasManualEdit(File output) throws IOException {
+        try (InputStream in = new FileInputStream(output); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            Cell note = dayRow(workbook.getSheetAt(0), 1).getCell(MANUAL_COLUMN);
+            return note != null && "checked".equals(note.getStringCellValue())
+                    && workbook.getFontAt(note.getCellStyle().getFontIndex()).getBold();
+        }
+    }
+
+    private static List<String> styleSignature(File output) throws IOException {
+        try (InputStream in = new FileInputStream(output); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            List<String> styles = new ArrayList<>();
+            for (int day = 1; day <= 31; day++) {
+                Row row = dayRow(sheet, day);
+                for (int col = 0; col <= MonthSkeleton.LAST_TASK_COLUMN; col++) {
+                    CellStyle style = row.getCell(col).getCellStyle();
+                    styles.add(day + ":" + col + ":" + style.getFillForegroundColorColor() + ":"
+                            + workbook.getFontAt(style.getFontIndex()).getBold() + ":" + style.getAlignment());
+                }
+            }
+            return styles;
+        }
+    }
+
+    // === Cases ===
+    @Test
+    void changedAddedAndDeletedLogsRewriteOnlyTheirCells() throws IOException {
+        File output = build("");
+        addManualEdit(output);
+        List<String> before = taskTexts(output);
+        List<String> styles = styleSignature(output);
+        assertEquals("Reviewed jira HDAG-1", before.get(3));
+
+        write("aug_04_2025.txt", "Reviewed jira HDAG-1\nMerged jira ESB-2\n");
+        write("aug_06_2025.txt", "Paired on tests\n");
+        Files.delete(new File(dir, "aug_05_2025.txt").toPath());
+        assertTrue(update());
+
+        List<String> after = taskTexts(output);
+        List<String> expected = new ArrayList<>(before);
+        expected.set(3, "Reviewed jira HDAG-1\nMerged jira ESB-2");
+        expected.set(4, "");
+        expected.set(5, "Paired on tests");
+        assertEquals(expected, after);
+        assertEquals(styles, styleSignature(output));
+        assertTrue(hasManualEdit(output));
+        assertTrue(new String(Files.readAllBytes(new File(dir, "All_Jiras.txt").toPath()), StandardCharsets.UTF_8)
+                .contains("ESB-2"));
+
+        // Nothing changed since: the workbook is left as it is
+        assertTrue(update());
+        assertEquals(after, taskTexts(output));
+    }
+
+    @Test
+    void offDayLogDoesNotTouchTheSheet() throws IOException {
+        File output = build("");
+        addManualEdit(output);
+        List<String> before = taskTexts(output);
+
+        write("aug_03_2025.txt", "Sunday on-call\n");
+        assertTrue(update());
+        assertEquals(before, taskTexts(output));
+        assertTrue(hasManualEdit(output));
+    }
+
+    @Test
+    void missingRecordedSourcesRebuild() throws IOException {
+        File output = build("");
+        try (InputStream in = new FileInputStream(output); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            workbook.getProperties().getCustomProperties().getUnderlyingProperties()
+                    .getPropertyList().clear();
+            try (OutputStream out = new FileOutputStream(output)) {
+                workbook.write(out);
+            }
+        }
+        addManualEdit(output);
+
+        write("aug_06_2025.txt", "Paired on tests\n");
+        assertFalse(update());
+        assertFalse(hasManualEdit(output));
+        assertEquals("Paired on tests", taskTexts(output).get(5));
+    }
+
+    @Test
+    void changedCalendarRebuilds() throws IOException {
+        write("calendars.properties", "pune.weekOff=SUN\npune.holidays=2025-08-15\n");
+        File output = build("calendar=pune\n");
+        addManualEdit(output);
+
+        File calendars = new File(dir, "calendars.properties");
+        long modified = calendars.lastModified();
+        write("calendars.properties", "pune.weekOff=SUN\npune.holidays=2025-08-15,2025-08-07\n");
+        // Loaded calendar files are reused until their modification time changes
+        calendars.setLastModified(modified + 2000);
+        assertFalse(update());
+        assertFalse(hasManualEdit(output));
+        assertEquals("Holiday", taskTexts(output).get(6));
+    }
+
+    @Test
+    void changedBudgetRebuilds() throws IOException {
+        File output = build("");
+        addManualEdit(output);
+
+        write("input.txt", INPUT + "maxDayChars=5000\n");
+        assertFalse(update());
+        assertFalse(hasManualEdit(output));
+    }
+
+    @Test
+    void changedHeaderRebuilds() throws IOException {
+        File output = build("");
+        addManualEdit(output);
+
+        write("input.txt", INPUT.replace("name=Test Person", "name=Renamed Person"));
+        write("aug_06_2025.txt", "Paired on tests\n");
+        assertFalse(update());
+        assertFalse(hasManualEdit(output));
+        try (InputStream in = new FileInputStream(output); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            assertEquals("Renamed Person", workbook.getSheetAt(0).getRow(3).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void overflowDayRebuilds() throws IOException {
+        File output = build("maxDayChars=30\n");
+        write("aug_08_2025.txt", "A log line that is well over the thirty character budget\n");
+        output.delete();
+        MonthExcelGenerator.generate(dir, new RunMetrics("build"));
+        addManualEdit(output);
+        assertTrue(taskTexts(output).get(7).contains("overflow/aug_08_2025.txt"));
+
+        // A day that was over the budget
+        write("aug_08_2025.txt", "Short now\n");
+        assertFalse(update());
+        assertFalse(hasManualEdit(output));
+        assertEquals("Short now", taskTexts(output).get(7));
+
+        // A day that goes over the budget
+        addManualEdit(output);
+        write("aug_05_2025.txt", "Another line that is well over the thirty character budget\n");
+        assertFalse(update());
+        assertFalse(hasManualEdit(output));
+        assertTrue(taskTexts(output).get(4).contains("overflow/aug_05_2025.txt"));
+
+        // A day within the budget is still patched in place
+        addManualEdit(output);
+        write("aug_06_2025.txt", "Short too\n");
+        assertTrue(update());
+        assertTrue(hasManualEdit(output));
+        assertEquals("Short too", taskTexts(output).get(5));
+    }
+}